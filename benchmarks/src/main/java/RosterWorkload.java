@@ -0,0 +1,102 @@
+import classdivider.jmh.Workload;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Benchmarked operations on a roster of synthetic students.
+ */
+public class RosterWorkload implements Workload {
+
+    private static final int GROUP_SIZE = 4;
+    private static final int DEVIATION = 1;
+    private static final String HEADER = "first name,last name,ID\n";
+
+    private Student[] students;
+    private Group<Student> klas;
+    private Group<Student> copy;
+    private DivisionResult division;
+    private Path input;
+    private Path output;
+
+    @Override
+    public void setUp(int size, Path directory) throws IOException {
+        students = new Student[size];
+        klas = new Group<>();
+        copy = new Group<>();
+        for (int i = 0; i < size; i++) {
+            // Few distinct first names, so both unique and shared names occur
+            students[i] = new Student("First" + i % 1000, "Last" + i, Integer.toString(i));
+            klas.add(students[i]);
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            copy.add(new Student(students[i].firstName(), students[i].lastName(),
+                    students[i].id()));
+        }
+
+        division = new Divider().divide(klas, new DivisionParameters(GROUP_SIZE, DEVIATION),
+                1);
+
+        input = directory.resolve("students.csv");
+        output = directory.resolve("output.csv");
+        // toCSV writes no header, which fromCSV requires
+        Files.writeString(input, HEADER + StudentsFile.toCSV(klas));
+    }
+
+    @Override
+    public Object fromCSV() throws IOException {
+        return StudentsFile.fromCSV(input);
+    }
+
+    @Override
+    public long toCSV() throws IOException {
+        StudentsFile.toCSV(output, klas);
+        return Files.size(output);
+    }
+
+    @Override
+    public Object add() {
+        Group<Student> group = new Group<>();
+        for (Student student : students) {
+            group.add(student);
+        }
+        return group;
+    }
+
+    @Override
+    public int iterate() {
+        int hash = 0;
+        for (Iterator<Student> it = klas.iterator(); it.hasNext();) {
+            hash += it.next().hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public Object pick() {
+        return klas.pick();
+    }
+
+    @Override
+    public boolean equalsCopy() {
+        return klas.equals(copy);
+    }
+
+    @Override
+    public Object divide() {
+        ClassDivider divider = new ClassDivider(GROUP_SIZE, DEVIATION, klas, new HashMap<>());
+        divider.divide();
+        return divider.getGroupSet();
+    }
+
+    @Override
+    public int render() throws IOException {
+        new TextGroupsRenderer().render(division.groups(), division.uniqueFirstName(),
+                Writer.nullWriter());
+        return division.groups().size();
+    }
+
+}
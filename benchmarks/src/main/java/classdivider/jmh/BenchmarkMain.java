@@ -0,0 +1,32 @@
+package classdivider.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Run the benchmarks with JMH, writing the results as JSON.
+ *
+ * Unless a result format is given with {@code -rf}, the results are written to
+ * {@code jmh-result.json}, which can be compared between releases, for example with
+ * a JMH result visualizer. All other arguments are passed on to JMH.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args JMH command line arguments
+     * @throws Exception when JMH fails
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(List.of("-rf", "json", "-rff", "jmh-result.json"));
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(String[]::new));
+    }
+
+}
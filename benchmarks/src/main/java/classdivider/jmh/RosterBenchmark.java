@@ -0,0 +1,157 @@
+package classdivider.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of loading, writing, building, iterating, dividing and rendering rosters.
+ *
+ * Every benchmark runs once per roster size. Apart from {@link #pick()}, which picks a
+ * single student, each benchmark handles the whole roster per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RosterBenchmark {
+
+    private static final String WORKLOAD = "RosterWorkload";
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Workload workload;
+    private Path directory;
+
+    /**
+     * Create the roster of synthetic students.
+     *
+     * @throws ReflectiveOperationException when the workload cannot be created
+     * @throws IOException when an I/O error occurs
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException, IOException {
+        directory = Files.createTempDirectory("classdivider-jmh");
+        workload = (Workload) Class.forName(WORKLOAD).getConstructor().newInstance();
+        workload.setUp(size, directory);
+    }
+
+    /**
+     * Remove the files written by the benchmarks.
+     *
+     * @throws IOException when an I/O error occurs
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * {@code StudentsFile.fromCSV(Path)}.
+     *
+     * @return the students read
+     * @throws IOException when an I/O error occurs
+     */
+    @Benchmark
+    public Object fromCSV() throws IOException {
+        return workload.fromCSV();
+    }
+
+    /**
+     * {@code StudentsFile.toCSV(Path, Group)}.
+     *
+     * @return the number of bytes written
+     * @throws IOException when an I/O error occurs
+     */
+    @Benchmark
+    public long toCSV() throws IOException {
+        return workload.toCSV();
+    }
+
+    /**
+     * {@code Group.add} of every student into a new group.
+     *
+     * @return the group built
+     */
+    @Benchmark
+    public Object add() {
+        return workload.add();
+    }
+
+    /**
+     * Full iteration of {@code Group.iterator()}.
+     *
+     * @return a value computed from every student
+     */
+    @Benchmark
+    public int iterate() {
+        return workload.iterate();
+    }
+
+    /**
+     * {@code Group.pick()}.
+     *
+     * @return the student picked
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object pick() {
+        return workload.pick();
+    }
+
+    /**
+     * {@code Group.equals} of two equal groups with different insertion order.
+     *
+     * @return true
+     */
+    @Benchmark
+    public boolean equalsCopy() {
+        return workload.equalsCopy();
+    }
+
+    /**
+     * {@code ClassDivider.divide()} into groups of 4 with deviation 1.
+     *
+     * @return the groups
+     */
+    @Benchmark
+    public Object divide() {
+        return workload.divide();
+    }
+
+    /**
+     * {@code TextGroupsRenderer.render} of a division into groups of 4 with deviation 1,
+     * to {@code Writer.nullWriter()}.
+     *
+     * @return the number of groups rendered
+     * @throws IOException when an I/O error occurs
+     */
+    @Benchmark
+    public int render() throws IOException {
+        return workload.render();
+    }
+
+}
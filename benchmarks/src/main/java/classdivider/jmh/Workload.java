@@ -0,0 +1,94 @@
+package classdivider.jmh;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * {@code Workload} runs the operations of classdivider that are benchmarked.
+ *
+ * The classes of classdivider are in the unnamed package, which code in a named package
+ * cannot refer to, while JMH only accepts benchmarks in a named package. Therefore the
+ * benchmarks call classdivider through this interface, which is implemented by
+ * {@code RosterWorkload} in the unnamed package. With a single implementation loaded,
+ * the JIT compiler inlines these calls.
+ */
+public interface Workload {
+
+    /**
+     * Create a roster of synthetic students and write it to a CSV file.
+     *
+     * @pre {@code size > 0}
+     * @param size number of students in the roster
+     * @param directory directory to write files to
+     * @throws IOException when an I/O error occurs
+     */
+    void setUp(int size, Path directory) throws IOException;
+
+    /**
+     * Read the CSV file with the roster.
+     *
+     * @pre true
+     * @return the group of students read
+     * @throws IOException when an I/O error occurs
+     */
+    Object fromCSV() throws IOException;
+
+    /**
+     * Write the roster to a CSV file.
+     *
+     * @pre true
+     * @return the number of bytes written
+     * @throws IOException when an I/O error occurs
+     */
+    long toCSV() throws IOException;
+
+    /**
+     * Add every student in the roster to a new group.
+     *
+     * @pre true
+     * @return the new group
+     */
+    Object add();
+
+    /**
+     * Iterate over all students in the roster group.
+     *
+     * @pre true
+     * @return a value computed from every student visited
+     */
+    int iterate();
+
+    /**
+     * Pick a random student from the roster group.
+     *
+     * @pre true
+     * @return the student picked
+     */
+    Object pick();
+
+    /**
+     * Compare the roster group to an equal copy.
+     *
+     * @pre true
+     * @return true
+     */
+    boolean equalsCopy();
+
+    /**
+     * Divide the roster group into groups.
+     *
+     * @pre true
+     * @return the groups
+     */
+    Object divide();
+
+    /**
+     * Render a division of the roster group as text to a writer that discards it.
+     *
+     * @pre true
+     * @return the number of groups rendered
+     * @throws IOException when an I/O error occurs
+     */
+    int render() throws IOException;
+
+}
@@ -1,13 +1,16 @@
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
 
 /**
  * ClassDivider – Divides a group of students into smaller groups based on specified parameters.
  * 
  * This class is responsible for dividing a list of students into groups of a specified size
  * while considering a permissible deviation in the group sizes.
+ * A ClassDivider divides one class once; use {@link Divider} to divide classes on
+ * multiple threads.
  * @pre recieves correct input, thus validate() must handle exceptions with incorrect input
  * @post returns correct groups to print(), 
  *      thus must handle exceptions when the division is impossible
@@ -16,11 +19,9 @@ public class ClassDivider {
     public int groupSize;
     public int deviation;
     public Group<Student> klas;
-    public int nrOfGroups;
-    public int overflow;
-    public Iterator<Student> students;
     public List<Group<Student>> groupSet = new ArrayList<>();
     public Map<String, Boolean> uniqueFirstName;
+    private final RandomGenerator random;
 
     /**
      * Constructs a new ClassDivider with the specified group size, deviation, 
@@ -33,110 +34,109 @@ public class ClassDivider {
      */
     public ClassDivider(int groupSize, int deviation,
             Group<Student> klas, Map<String, Boolean> uniqueFirstName) {
+        this(groupSize, deviation, klas, uniqueFirstName, Group.random());
+    }
+
+    /**
+     * Constructs a new ClassDivider that divides the class at random with its own generator.
+     *
+     * The groups made by {@link #divide()} and {@link #division()} depend only on the order
+     * in which students were added to klas and the numbers drawn from random, so dividing
+     * with a generator created from a fixed seed gives the same groups every time.
+     *
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @param klas the list of students to be divided into groups
+     * @param uniqueFirstName a map to track the uniqueness of first names
+     * @param random generator used to divide the class; it should not be used by other
+     *        threads
+     */
+    public ClassDivider(int groupSize, int deviation, Group<Student> klas,
+            Map<String, Boolean> uniqueFirstName, RandomGenerator random) {
+        this.random = random;
         this.groupSize = groupSize;
         this.deviation = deviation;
         this.klas = klas;
-        this.nrOfGroups = klas.size() / groupSize;
-        this.overflow = klas.size() % groupSize;
-        this.students = klas.iterator();
         this.uniqueFirstName = uniqueFirstName;
     }
-    
+
     /**
-    * Implementing the conditions.
-    */
+     * Determines if the class cannot be divided into groups of groupSize +/- deviation.
+     *
+     * @return true if no division of the class exists, false otherwise
+     * @see DivisionPlan#isFeasible(int, int, int)
+     */
     public boolean conditions() {
-        boolean overflowCheck = nrOfGroups / deviation > overflow;
-        boolean deviationOverflowCheck = groupSize - deviation <= overflow
-                && overflow <= groupSize + deviation;
-        boolean lastCheck = groupSize - deviation <= overflow + nrOfGroups * deviation && overflow
-                + nrOfGroups * deviation <= groupSize + deviation;
-
-        return !(overflowCheck || deviationOverflowCheck || lastCheck);
+        return !DivisionPlan.isFeasible(klas.size(), groupSize, deviation);
     }
     
     /**
      * Divides the class of students into groups based on the specified group size and deviation.
      * 
-     * This method first checks if the division conditions are met and then proceeds to divide
-     * the students into groups. It also updates the map tracking the uniqueness of first names.
+     * The group sizes are planned up front by {@link DivisionPlan}, after which the groups
+     * are filled in one pass over the students in random order, see {@link #division()}.
+     * The map tracking the uniqueness of first names is updated as well.
      * 
-     * @throws IllegalArgumentException if the conditions for dividing the class are not met
+     * @throws IllegalArgumentException if the class cannot be divided into groups
      */
     public void divide() {
-        if (conditions()) {
-            throw new IllegalArgumentException(
-                    "Unable to divide the class into groups with the specified parameters.");
-        }
-        grouping();
-
-        if (nrOfGroups / deviation > overflow) {
-            ifMethod();
-        } else {
-            elseMethod();
-        }
-
-        for (Student student : klas) {
-            if (uniqueFirstName.containsKey(student.firstName())) {
-                uniqueFirstName.put(student.firstName(), false);
-            } else {
-                uniqueFirstName.put(student.firstName(), true);
-            }
+        for (Set<Student> members : division().groups()) {
+            Group<Student> group = new Group<>(random);
+            group.addAll(members);
+            groupSet.add(group);
         }
     }
     
     /**
-    * Groups students into the initial sets based on the specified group size.
-    */
-    public void grouping() {
-        for (int g = 0; g < nrOfGroups; g++) {
-            Group<Student> group = new Group<>();
-
-            for (int size = 0; size < groupSize; size++) {
-                group.add(students.next());
-            }
+     * Divides a roster of students into groups of rows.
+     *
+     * The groups have the sizes planned by {@link DivisionPlan}, like those made by
+     * {@link #divide()}, but no student records are created: each group is an array of rows
+     * in the roster, taken from a random permutation of all rows.
+     *
+     * @param roster the students to be divided into groups
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @return the rows of the students in each group
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public static List<int[]> divide(Roster roster, int groupSize, int deviation) {
+        Division division = Division.of(roster, groupSize, deviation);
 
-            groupSet.add(group);
+        List<int[]> groups = new ArrayList<>();
+        for (int g = 0; g < division.groupCount(); g++) {
+            groups.add(division.rows(g));
         }
+        return groups;
     }
 
     /**
-     * Distributes the overflow students 
-     * among the initial groups if the deviation conditions are met.
+     * Divides the class of students into groups without copying students into groups.
+     *
+     * Unlike {@link #divide()}, this method leaves {@link #getGroupSet()} empty: the
+     * groups are views over one random permutation of the class. The map tracking the
+     * uniqueness of first names is updated as well.
+     *
+     * @return the division of the class into groups
+     * @throws IllegalArgumentException if the class cannot be divided into groups
      */
-    public void ifMethod() {
-        for (int d = 0; d < deviation && overflow > 0; d++) {
-            for (int g = 0; g < nrOfGroups && overflow > 0; g++) {
-                Group<Student> group = groupSet.get(g);
-                group.add(students.next());
-                overflow--;
-            }
-        }
+    public Division division() {
+        Division division = Division.of(klas, groupSize, deviation, random);
+        countFirstNames();
+        return division;
     }
 
-    /**
-     * Creates a separate group for the overflow students if the deviation conditions are not met.
-     */
-    public void elseMethod() {
-        Group<Student> separateGroup = new Group<>();
-
-        for (int i = 0; i < overflow; i++) {
-            separateGroup.add(students.next());
-        }
-        for (int d = 0; d < deviation && separateGroup.size() < groupSize - deviation; d++) {
-            int g = groupSet.size();
-            while (separateGroup.size() < groupSize - deviation) {
-                g--;
-                Group<Student> group = groupSet.get(g);
-                Student student = group.pick();
-                separateGroup.add(student);
-                group.remove(student);
+    // In insertion order, as iterating over klas would draw from the shared generator
+    private void countFirstNames() {
+        klas.forEachInOrder(student -> {
+            if (uniqueFirstName.containsKey(student.firstName())) {
+                uniqueFirstName.put(student.firstName(), false);
+            } else {
+                uniqueFirstName.put(student.firstName(), true);
             }
-        }
-
-        groupSet.add(separateGroup);
+        });
     }
-
+    
     /**
      * Returns the list of student groups after the division.
      * 
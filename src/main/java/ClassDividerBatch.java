@@ -0,0 +1,214 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+
+/**
+ * ClassDividerBatch – Divide many classes of students into groups concurrently.
+ *
+ * Every students file is divided in its own task with the same group size and
+ * deviation, and the groups are written to one output file per students file. Students
+ * files that would be written to the same output file, such as {@code a/klas.csv} and
+ * {@code b/klas.csv} with one output directory, are rejected before any class is
+ * divided. A class that cannot be read or divided is reported in the summary without affecting the
+ * other classes.
+ */
+@Command(
+        name = "batch",
+        mixinStandardHelpOptions = true,
+        description = "Divide many classes of students into groups concurrently.")
+public class ClassDividerBatch implements Callable<Integer> {
+
+    private static final String SUFFIX = ".groups.txt";
+
+    /**
+     * The target group size.
+     * This option is required.
+     */
+    @CommandLine.Option(
+            names = {"-g", "--group-size"},
+            description = "target group size.",
+            required = true
+    )
+    private int groupSize;
+
+    /**
+     * The permitted difference between the number of students in a group and the target group size.
+     * Defaults to 1.
+     */
+    @CommandLine.Option(
+            names = {"-d", "--deviation"},
+            description = "permitted difference of number of students in a group "
+            + " and the target group size. Defaults to ${DEFAULT-VALUE}.")
+    private int deviation = 1;
+
+    /**
+     * The directory to write the groups to.
+     * Defaults to the directory of each students file.
+     */
+    @CommandLine.Option(
+            names = {"-o", "--output-dir"},
+            description = "directory to write the groups to; the students files must "
+            + "have distinct names then. Defaults to the directory of each students file.")
+    private Path outputDirectory;
+
+    /**
+     * The seed for dividing each class at random.
+     */
+    @CommandLine.Option(
+            names = {"-s", "--seed"},
+            description = "seed for dividing each class at random; every class is divided "
+            + "as the single class command would with this seed. Defaults to a random seed.")
+    private Long seed;
+
+    /**
+     * The glob pattern selecting the students files in a directory.
+     */
+    @CommandLine.Option(
+            names = {"--pattern"},
+            description = "glob pattern selecting the students files in a directory. "
+            + "Defaults to ${DEFAULT-VALUE}.")
+    private String pattern = "*.{csv,lst}";
+
+    /**
+     * The students files to divide: directories, glob patterns or paths.
+     */
+    @Parameters(
+            arity = "1..*",
+            description = "directories, glob patterns such as 'classes/*.csv', or paths "
+            + "of files with students data in CSV format."
+    )
+    private List<String> rosters;
+
+    @Spec
+    CommandSpec commandSpec; // injected by picocli
+
+    // Shared by the threads dividing the classes
+    private final Divider divider = new Divider();
+
+    /**
+     * Outcome of dividing one class.
+     *
+     * @param file   the students file
+     * @param output the file the groups were written to, or null on failure
+     * @param nanos  the time it took to read, divide and write the class
+     * @param error  the reason for failure, or null on success
+     */
+    record Result(Path file, Path output, long nanos, String error) {
+    }
+
+    /**
+     * Divide every class, then print a summary.
+     *
+     * @return Exit code, 0 if all classes were divided, 1 otherwise.
+     */
+    @Override
+    public Integer call() {
+        ClassDividerCLI.checkDivision(commandSpec, groupSize, deviation);
+
+        List<Path> files;
+        try {
+            files = files();
+        } catch (IOException e) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "Unable to list students files: %s.".formatted(e));
+        }
+        checkOutputs(files);
+
+        long start = System.nanoTime();
+        try {
+            List<Result> results = TaskExecutors.map(files, this::divide);
+            return summarize(results, System.nanoTime() - start,
+                    commandSpec.commandLine().getOut());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dividing classes.", e);
+        }
+    }
+
+    // The students files selected by the parameters, in order.
+    private List<Path> files() throws IOException {
+        List<Path> files = RosterFiles.find(rosters, pattern);
+        if (files.isEmpty()) {
+            throw new ParameterException(commandSpec.commandLine(), "No students files found.");
+        }
+        return files;
+    }
+
+    // Throws a ParameterException when two students files have the same output file.
+    private void checkOutputs(List<Path> files) {
+        Map<Path, Path> inputs = new HashMap<>();
+        for (Path file : files) {
+            Path output = output(file);
+            Path other = inputs.putIfAbsent(output, file);
+            if (other != null) {
+                throw new ParameterException(commandSpec.commandLine(),
+                        "Students files %s and %s would both be written to %s."
+                        .formatted(other, file, output));
+            }
+        }
+    }
+
+    /**
+     * Read, divide and write one class.
+     *
+     * @param file the students file
+     * @return the outcome of dividing the class
+     */
+    Result divide(Path file) {
+        long start = System.nanoTime();
+        try {
+            Path output = output(file);
+            Files.createDirectories(output.getParent());
+            new TextGroupsRenderer().render(divider.divide(StudentsFile.fromCSV(file),
+                    new DivisionParameters(groupSize, deviation), Divider.seed(seed)), output);
+            return new Result(file, output, System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(file, null, System.nanoTime() - start, e.toString());
+        }
+    }
+
+    // The file to write the groups of a students file to.
+    private Path output(Path file) {
+        Path directory = outputDirectory != null
+                ? outputDirectory
+                : file.toAbsolutePath().getParent();
+        return directory.toAbsolutePath().normalize().resolve(file.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Print a summary of the results.
+     *
+     * @param results the outcome of dividing each class
+     * @param nanos   the total time taken
+     * @param out     writer to print to
+     * @return 0 if all classes were divided, 1 otherwise
+     */
+    static int summarize(List<Result> results, long nanos, PrintWriter out) {
+        int failures = 0;
+        for (Result result : results) {
+            long millis = result.nanos() / 1_000_000;
+            if (result.error() == null) {
+                out.printf("OK     %6d ms  %s -> %s%n", millis, result.file(), result.output());
+            } else {
+                failures++;
+                out.printf("FAILED %6d ms  %s: %s%n", millis, result.file(), result.error());
+            }
+        }
+
+        out.printf("Divided %d of %d classes in %d ms; %d failed.%n",
+                results.size() - failures, results.size(), nanos / 1_000_000, failures);
+        return failures == 0 ? 0 : 1;
+    }
+
+}
@@ -1,15 +1,11 @@
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.ParameterException;
-import picocli.CommandLine.Parameters;
-import picocli.CommandLine.Spec;
 
 /**
  * ClassDividerCLI – Divide a class of students into groups.
@@ -23,17 +19,20 @@ import picocli.CommandLine.Spec;
         name = "classdivider",
         mixinStandardHelpOptions = true,
         version = "classdivider 0.6",
-        description = "Divide a class of students into groups.")
+        description = "Divide a class of students into groups.",
+        subcommands = {ClassDividerBatch.class, ClassDividerRotate.class,
+            ClassDividerServe.class, ClassDividerShell.class})
 public class ClassDividerCLI implements Callable<Integer> {
 
+    private static final List<String> STATS_FORMATS = List.of("text", "json");
+
     /**
      * The target group size.
-     * This option is required.
+     * This option is required when dividing a single class.
      */
     @CommandLine.Option(
             names = {"-g", "--group-size"},
-            description = "target group size.",
-            required = true
+            description = "target group size."
     )
     private int groupSize;
 
@@ -47,100 +46,325 @@ public class ClassDividerCLI implements Callable<Integer> {
             + " and the target group size. Defaults to ${DEFAULT-VALUE}.")
     public int deviation = 1;
 
+    /**
+     * The number of threads used to read the students file.
+     * Defaults to 1.
+     */
+    @CommandLine.Option(
+            names = {"-p", "--parallelism"},
+            description = "number of threads used to read the students file. "
+            + "Defaults to ${DEFAULT-VALUE}.")
+    private int parallelism = 1;
+
+    /**
+     * The seed for dividing the class at random.
+     * Defaults to a different division every run.
+     */
+    @CommandLine.Option(
+            names = {"-s", "--seed"},
+            description = "seed for dividing the class at random; the same class and seed "
+            + "give the same groups. Defaults to a random seed.")
+    private Long seed;
+
+    /**
+     * The file with students to keep together or apart.
+     * Defaults to no constraints.
+     */
+    @CommandLine.Option(
+            names = {"-c", "--constraints"},
+            description = "file with students to keep together or apart, one constraint "
+            + "per line: 'together' or 'apart' followed by student IDs, "
+            + "comma separated.")
+    private Path constraintsFile;
+
+    /**
+     * The time allowed for resolving conflicts between constraints, in milliseconds.
+     * Defaults to 1000.
+     */
+    @CommandLine.Option(
+            names = {"--time-budget"},
+            description = "milliseconds allowed for resolving conflicts between "
+            + "constraints. Defaults to ${DEFAULT-VALUE}.")
+    private long timeBudget = 1000;
+
+    /**
+     * Whether to stream the students file instead of reading it into memory.
+     */
+    @CommandLine.Option(
+            names = {"--stream"},
+            description = "read the students file twice instead of keeping the class in "
+            + "memory, and write 'ID,group' CSV rows in the order of the file.")
+    private boolean stream;
+
+    /**
+     * Whether to print the statistics of each phase of the run.
+     */
+    @CommandLine.Option(
+            names = {"--stats"},
+            description = "print the time, allocated memory and count of each phase "
+            + "of the run to standard error.")
+    private boolean stats;
+
+    /**
+     * The format of the statistics of each phase of the run.
+     * Defaults to text.
+     */
+    @CommandLine.Option(
+            names = {"--stats-format"},
+            description = "format of the statistics printed with --stats, 'text' or "
+            + "'json'. Defaults to ${DEFAULT-VALUE}.")
+    private String statsFormat = "text";
+
+    /**
+     * The file to write the groups to.
+     * Defaults to standard output.
+     */
+    @CommandLine.Option(
+            names = {"-o", "--output"},
+            description = "file to write the groups to. Defaults to standard output.")
+    private Path output;
+
     /**
      * The path to the file with students data in CSV format.
-     * This parameter is required.
+     * This parameter is required when dividing a single class.
      */
-    @Parameters(
+    @CommandLine.Parameters(
             index = "0",
+            arity = "0..1",
             description = "path to file with students data in CSV format."
     )
     private Path studentsFile;
 
-    @Spec
+    @CommandLine.Spec
     CommandSpec commandSpec; // injected by picocli
 
     private Group<Student> klas;
-    private final Map<String, Boolean> uniqueFirstName = new HashMap<>();
+
+    private final PhaseStats phases = new PhaseStats();
+
+    // Cache of students files, or null to read the students file every time
+    private final RosterCache rosters;
+
+    /**
+     * Creates a command that reads the students file every time.
+     */
+    public ClassDividerCLI() {
+        this(null);
+    }
+
+    /**
+     * Creates a command that reads the students file through a cache.
+     *
+     * @param rosters cache of students files, or null to read the students file
+     */
+    ClassDividerCLI(RosterCache rosters) {
+        this.rosters = rosters;
+    }
 
     /**
      * Checks for valid group size and deviation.
      * Throws a ParameterException if the conditions are not met.
      */
     private void exceptionCheck() {
-        if (groupSize <= 0) {
+        checkDivision(commandSpec, groupSize, deviation);
+
+        if (parallelism <= 0) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "parallelism must be a positive integer number.");
+        }
+
+        if (timeBudget < 0) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "time budget must be a non-negative number.");
+        }
+
+        if (!STATS_FORMATS.contains(statsFormat)) {
             throw new ParameterException(commandSpec.commandLine(),
+                    "stats format must be 'text' or 'json'.");
+        }
+    }
+    
+    /**
+     * Checks for valid group size and deviation.
+     * Throws a ParameterException if the conditions are not met.
+     *
+     * @param spec the command the parameters were given to
+     * @param groupSize the target group size
+     * @param deviation the permitted deviation of the group size
+     */
+    static void checkDivision(CommandSpec spec, int groupSize, int deviation) {
+        if (groupSize <= 0) {
+            throw new ParameterException(spec.commandLine(),
                     "group size must be a positive integer number.");
         }
 
         if (deviation >= groupSize || deviation < 0) {
-            throw new ParameterException(commandSpec.commandLine(),
+            throw new ParameterException(spec.commandLine(),
                     "deviation must be a positive number smaller than group size.");
         }
     }
-    
+
     /**
      * Validates the input CSV file and initializes the student group.
      * Throws a ParameterException if the file cannot be read or parsed.
      */
     private void validate() {
+        requireStudentsFile();
+
         try {
-            klas = StudentsFile.fromCSV(studentsFile);
+            klas = phases.time("parse", this::read, Group::size);
         } catch (IOException e) {
             throw new ParameterException(commandSpec.commandLine(),
                     "Unable to open or read students file '%s': %s."
                             .formatted(studentsFile, e));
         }
-        exceptionCheck();
+        phases.time("validate", () -> {
+            exceptionCheck();
+            return klas;
+        }, Group::size);
     }
     
     /**
-     * Prints the groups of students.
-     * @param groupSet List of student groups to print
+     * Reads the students file, from the cache if there is one.
+     * @return the students in the students file
+     * @throws IOException when the file cannot be read
      */
-    private void print(List<Group<Student>> groupSet) {
-        int groupNr = 0;
+    private Group<Student> read() throws IOException {
+        if (rosters == null) {
+            return StudentsFile.fromCSV(studentsFile, parallelism);
+        }
+        return rosters.get(studentsFile, parallelism);
+    }
+
+    /**
+     * Checks that a students file is given.
+     * Throws a ParameterException if it is not.
+     */
+    private void requireStudentsFile() {
+        if (studentsFile == null) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "Missing required parameter: '<studentsFile>'");
+        }
+    }
 
-        for (Group<Student> group : groupSet) {
-            groupNr++;
+    /**
+     * Divides the class while streaming the students file, writing 'ID,group' rows.
+     * Throws a ParameterException if the files cannot be read or written.
+     */
+    private void divideStreaming() {
+        requireStudentsFile();
+        exceptionCheck();
+        if (constraintsFile != null) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "--stream cannot be combined with --constraints.");
+        }
 
-            System.out.printf("Group %d:%n", groupNr);
+        try {
+            phases.time("stream", () -> StreamingDivider.divide(studentsFile,
+                    new DivisionParameters(groupSize, deviation), Divider.seed(seed), output),
+                    DivisionPlan::groups);
+        } catch (IOException e) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "Unable to divide students file '%s': %s.".formatted(studentsFile, e));
+        }
+    }
 
-            for (Student student : group) {
-                String name = student.firstName();
+    /**
+     * Reads the constraints file.
+     * Throws a ParameterException if the file cannot be read or parsed.
+     * @return the constraints in the constraints file, or none without constraints file
+     */
+    private Constraints constraints() {
+        if (constraintsFile == null) {
+            return Constraints.NONE;
+        }
+        try {
+            return Constraints.of(constraintsFile);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "Unable to read constraints file '%s': %s."
+                            .formatted(constraintsFile, e.getMessage()));
+        }
+    }
 
-                if (!uniqueFirstName.get(student.firstName())) {
-                    name += " " + student.sortName().charAt(0);
-                }
+    /**
+     * Prints the groups of students, and reports unmet constraints on standard error.
+     * Throws a ParameterException if the output file cannot be written.
+     * @param result the groups of students to print
+     */
+    private void print(ConstrainedResult result) {
+        try {
+            phases.time("print", () -> {
+                GroupsRenderer.of("text").render(result.result(), output);
+                return result.result().groups();
+            }, List::size);
+        } catch (IOException e) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "Unable to write groups to '%s': %s.".formatted(output, e));
+        }
+        for (String unmet : result.unmet()) {
+            System.err.println("Unmet constraint: " + unmet);
+        }
+    }
 
-                System.out.println("- " + name);
-            }
+    /**
+     * Divides the class into groups, taking constraints into account.
+     * @return the groups of students and the constraints that could not be met
+     */
+    private ConstrainedResult divide() {
+        Constraints constraints = constraints();
+        return phases.time("divide", () -> new Divider().divide(klas,
+                new DivisionParameters(groupSize, deviation), Divider.seed(seed),
+                constraints, timeBudget), result -> result.result().groups().size());
+    }
 
-            System.out.println();
+    /**
+     * Prints the statistics of each phase of the run on standard error, if requested.
+     */
+    private void printStats() {
+        if (!stats) {
+            return;
+        }
+        if ("json".equals(statsFormat)) {
+            System.err.println(phases.toJson());
+        } else {
+            phases.print(System.err);
         }
     }
 
     /**
     * The main execution method of the CLI.
     * Validates inputs, divides the class into groups, and prints the groups.
+    * Constraints that could not be met are reported on standard error, as are the
+    * statistics of each phase when requested.
     *
     * @return Exit code, 0 if successful.
     */
     @Override
     public Integer call() {
-        validate();
-
-        ClassDivider divider = new ClassDivider(groupSize, deviation, klas, uniqueFirstName);
-        divider.divide();
-
-        List<Group<Student>> groupSet = divider.getGroupSet();
-        print(groupSet);
-
+        if (stream) {
+            divideStreaming();
+        } else {
+            validate();
+            print(divide());
+        }
+        printStats();
         return 0;
     }
 
+    /**
+     * Executes a command line in this JVM.
+     *
+     * @param rosters cache of students files, or null to read the students file
+     * @param args the options and parameters of the command
+     * @return Exit code, 0 if successful.
+     */
+    static int execute(RosterCache rosters, String... args) {
+        return new CommandLine(new ClassDividerCLI(rosters)).execute(args);
+    }
+
     public static void main(String[] args) {
-        int exitCode = new CommandLine(new ClassDividerCLI()).execute(args);
+        int exitCode = execute(null, args);
         System.exit(exitCode);
     }
 }
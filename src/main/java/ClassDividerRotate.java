@@ -0,0 +1,154 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+
+/**
+ * ClassDividerRotate – Divide a class of students into groups for successive rounds.
+ *
+ * Every round divides the whole class, such that students share a group with as few of
+ * the classmates they shared a group with in earlier rounds as possible. See
+ * {@link RotationScheduler}.
+ */
+@Command(
+        name = "rotate",
+        mixinStandardHelpOptions = true,
+        description = "Divide a class of students into groups for successive rounds, "
+        + "minimizing repeated pairings.")
+public class ClassDividerRotate implements Callable<Integer> {
+
+    /**
+     * The target group size.
+     * This option is required.
+     */
+    @CommandLine.Option(
+            names = {"-g", "--group-size"},
+            description = "target group size.",
+            required = true
+    )
+    private int groupSize;
+
+    /**
+     * The permitted difference between the number of students in a group and the target group size.
+     * Defaults to 1.
+     */
+    @CommandLine.Option(
+            names = {"-d", "--deviation"},
+            description = "permitted difference of number of students in a group "
+            + " and the target group size. Defaults to ${DEFAULT-VALUE}.")
+    private int deviation = 1;
+
+    /**
+     * The number of rounds.
+     * This option is required.
+     */
+    @CommandLine.Option(
+            names = {"-r", "--rounds"},
+            description = "number of rounds to divide the class for.",
+            required = true
+    )
+    private int rounds;
+
+    /**
+     * The seed for dividing the class at random.
+     */
+    @CommandLine.Option(
+            names = {"-s", "--seed"},
+            description = "seed for dividing the class at random; the same class and seed "
+            + "give the same rounds. Defaults to a random seed.")
+    private Long seed;
+
+    /**
+     * The number of threads used to improve each round.
+     * Defaults to the number of available processors.
+     */
+    @CommandLine.Option(
+            names = {"-p", "--parallelism"},
+            description = "number of threads used to improve each round. "
+            + "Defaults to the number of available processors.")
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The file to write the rounds to.
+     * Defaults to standard output.
+     */
+    @CommandLine.Option(
+            names = {"-o", "--output"},
+            description = "file to write the rounds to. Defaults to standard output.")
+    private Path output;
+
+    /**
+     * The path to the file with students data in CSV format.
+     */
+    @Parameters(
+            index = "0",
+            description = "path to file with students data in CSV format."
+    )
+    private Path studentsFile;
+
+    @Spec
+    CommandSpec commandSpec; // injected by picocli
+
+    /**
+     * Divide the class for every round, and write the groups and score of each round.
+     *
+     * @return Exit code, 0 if successful.
+     */
+    @Override
+    public Integer call() {
+        ClassDividerCLI.checkDivision(commandSpec, groupSize, deviation);
+        if (rounds <= 0 || parallelism <= 0) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "rounds and parallelism must be positive integer numbers.");
+        }
+
+        RotationScheduler scheduler = scheduler();
+        try {
+            write(scheduler);
+        } catch (IOException e) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "Unable to write rounds to '%s': %s.".formatted(output, e));
+        } finally {
+            scheduler.shutdown();
+        }
+        return 0;
+    }
+
+    private RotationScheduler scheduler() {
+        try {
+            return new RotationScheduler(StudentsFile.fromCSV(studentsFile),
+                    new DivisionParameters(groupSize, deviation), Divider.seed(seed),
+                    parallelism);
+        } catch (IOException e) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "Unable to open or read students file '%s': %s."
+                            .formatted(studentsFile, e));
+        }
+    }
+
+    private void write(RotationScheduler scheduler) throws IOException {
+        Writer out = GroupsRenderer.writer(output);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                RotationScheduler.Round next = scheduler.next();
+                out.write("Round %d: %d of %d pairs met before%n%n"
+                        .formatted(next.number(), next.repeats(), next.pairs()));
+                new TextGroupsRenderer().render(next.result().groups(),
+                        next.result().uniqueFirstName(), out);
+            }
+        } finally {
+            if (output == null) {
+                out.flush(); // leave standard output open
+            } else {
+                out.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
+
+/**
+ * ClassDividerServe – Divide classes of students over HTTP.
+ *
+ * This subcommand of {@link ClassDividerCLI} runs a {@link DivisionServer} until the
+ * process is stopped, so that other programs can divide classes without starting a JVM
+ * and reading the class from disk for every division.
+ */
+@Command(
+        name = "serve",
+        mixinStandardHelpOptions = true,
+        description = "Divide classes of students over HTTP.")
+public class ClassDividerServe implements Callable<Integer> {
+
+    /**
+     * The host name or address to listen on.
+     * Defaults to localhost.
+     */
+    @CommandLine.Option(
+            names = {"--host"},
+            description = "host name or address to listen on. Defaults to ${DEFAULT-VALUE}.")
+    private String host = "localhost";
+
+    /**
+     * The port to listen on.
+     * Defaults to 8080.
+     */
+    @CommandLine.Option(
+            names = {"--port"},
+            description = "port to listen on. Defaults to ${DEFAULT-VALUE}.")
+    private int port = 8080;
+
+    /**
+     * The maximum total number of students in cached division results.
+     * Defaults to a million.
+     */
+    @CommandLine.Option(
+            names = {"--cache-size"},
+            description = "maximum total number of students in cached division results; "
+            + "0 disables the cache. Defaults to ${DEFAULT-VALUE}.")
+    private long cacheSize = DivisionServer.DEFAULT_CACHE_STUDENTS;
+
+    /**
+     * The maximum size of a request body in bytes.
+     * Defaults to 64 MiB.
+     */
+    @CommandLine.Option(
+            names = {"--max-body"},
+            description = "maximum size of a request body in bytes; larger requests are "
+            + "rejected with status 413. Defaults to ${DEFAULT-VALUE}.")
+    private int maxBody = DivisionServer.DEFAULT_MAX_BODY;
+
+    @Spec
+    CommandSpec commandSpec; // injected by picocli
+
+    /**
+     * Run the server until the process is stopped.
+     *
+     * @return Exit code, 0 when the server stopped.
+     */
+    @Override
+    public Integer call() {
+        checkMaxBody();
+
+        DivisionServer server;
+        try {
+            server = DivisionServer.start(new InetSocketAddress(host, port),
+                    DivisionCache.ofStudents(cacheSize), maxBody);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "Unable to listen on %s:%d: %s.".formatted(host, port, e));
+        }
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            stopped.countDown();
+        }));
+        System.out.printf("Listening on http://%s:%d/%n", host, server.address().getPort());
+
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.stop(0);
+        }
+        return 0;
+    }
+
+    /**
+     * Checks that the maximum body size can be read into an array.
+     * Throws a ParameterException if it cannot.
+     */
+    private void checkMaxBody() {
+        if (maxBody < 0 || maxBody == Integer.MAX_VALUE) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "max body must be a non-negative number smaller than %d."
+                    .formatted(Integer.MAX_VALUE));
+        }
+    }
+
+}
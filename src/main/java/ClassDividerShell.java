@@ -0,0 +1,157 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
+
+/**
+ * ClassDividerShell – Divide classes of students interactively.
+ *
+ * This subcommand of {@link ClassDividerCLI} reads commands from standard input until
+ * it ends. A {@code divide} command takes the options and parameters of
+ * {@link ClassDividerCLI}, which run in the same JVM, with the students files read
+ * through a {@link RosterCache}. After the first division, classes are divided without
+ * starting a JVM, loading classes or reading unchanged students files again.
+ */
+@Command(
+        name = "shell",
+        mixinStandardHelpOptions = true,
+        description = "Divide classes of students interactively, keeping students files "
+        + "in memory until they change.")
+public class ClassDividerShell implements Callable<Integer> {
+
+    private static final String PROMPT = "classdivider> ";
+
+    private static final String HELP = """
+            Commands:
+              divide [OPTIONS] <studentsFile>  divide a class, with the options of classdivider
+              cache                            show the counters of the students file cache
+              clear                            empty the students file cache
+              help                             show this help
+              exit, quit                       leave the shell""";
+
+    // A word, or a phrase in double quotes
+    private static final Pattern WORD = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+
+    /**
+     * The maximum total number of students in cached students files.
+     * Defaults to a million.
+     */
+    @CommandLine.Option(
+            names = {"--cache-size"},
+            description = "maximum total number of students in cached students files; "
+            + "0 disables the cache. Defaults to ${DEFAULT-VALUE}.")
+    private long cacheSize = RosterCache.DEFAULT_STUDENTS;
+
+    @Spec
+    CommandSpec commandSpec; // injected by picocli
+
+    /**
+     * Run commands from standard input until it ends or an exit command is given.
+     *
+     * @return Exit code, 0 when the shell was left.
+     */
+    @Override
+    public Integer call() {
+        if (cacheSize < 0) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    "cache size must be a non-negative number.");
+        }
+
+        BufferedReader in = new BufferedReader(
+                new InputStreamReader(System.in, Charset.defaultCharset()));
+        try {
+            run(in, System.out, new RosterCache(cacheSize), System.console() != null);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read commands: " + e, e);
+        }
+        return 0;
+    }
+
+    /**
+     * Run commands until in ends or an exit command is given.
+     *
+     * Groups and errors of divide commands are written to standard output and standard
+     * error, as by {@link ClassDividerCLI}.
+     *
+     * @pre true
+     * @param in      reader of commands, one per line
+     * @param out     stream to write prompts and answers of other commands to
+     * @param rosters cache of the students files read by divide commands
+     * @param prompt  whether to prompt for commands
+     * @throws IOException when in cannot be read
+     */
+    static void run(BufferedReader in, PrintStream out, RosterCache rosters, boolean prompt)
+            throws IOException {
+        for (String line = next(in, out, prompt); line != null; line = next(in, out, prompt)) {
+            List<String> words = words(line);
+            if (!words.isEmpty() && !execute(words, out, rosters)) {
+                return;
+            }
+        }
+    }
+
+    // The next command line, or null at the end of in.
+    private static String next(BufferedReader in, PrintStream out, boolean prompt)
+            throws IOException {
+        if (prompt) {
+            out.print(PROMPT);
+            out.flush();
+        }
+        return in.readLine();
+    }
+
+    // Execute one command, returning false when the shell should be left.
+    private static boolean execute(List<String> words, PrintStream out, RosterCache rosters) {
+        String command = words.get(0);
+        switch (command) {
+            case "exit", "quit" -> {
+                return false;
+            }
+            case "divide" -> ClassDividerCLI.execute(rosters,
+                    words.subList(1, words.size()).toArray(String[]::new));
+            case "cache" -> cache(rosters.stats(), out);
+            case "clear" -> rosters.clear();
+            case "help" -> out.println(HELP);
+            default -> out.printf("Unknown command '%s'; type 'help' for a list of commands.%n",
+                    command);
+        }
+        return true;
+    }
+
+    private static void cache(RosterCache.Stats stats, PrintStream out) {
+        out.printf("%d hits, %d misses, %d evictions; %d students files with %d students "
+                + "cached.%n", stats.hits(), stats.misses(), stats.evictions(), stats.entries(),
+                stats.students());
+    }
+
+    /**
+     * Split a command line into words.
+     *
+     * Words are separated by white space; a phrase in double quotes is one word, such as
+     * a path with spaces.
+     *
+     * @pre true
+     * @param line the command line
+     * @return the words of line, in order, without quotes
+     */
+    static List<String> words(String line) {
+        List<String> words = new ArrayList<>();
+        Matcher matcher = WORD.matcher(line);
+        while (matcher.find()) {
+            words.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        return words;
+    }
+
+}
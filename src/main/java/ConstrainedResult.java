@@ -0,0 +1,23 @@
+import java.util.List;
+
+/**
+ * {@code ConstrainedResult} of dividing a class with constraints: the division, and the
+ * constraints it does not meet.
+ *
+ * @param result the groups and first name uniqueness of the class
+ * @param unmet  a description of every constraint that was not met
+ */
+public record ConstrainedResult(DivisionResult result, List<String> unmet) {
+
+    /**
+     * Create a constrained result.
+     *
+     * @pre true
+     * @param result the groups and first name uniqueness of the class
+     * @param unmet  a description of every constraint that was not met; it is copied
+     */
+    public ConstrainedResult {
+        unmet = List.copyOf(unmet);
+    }
+
+}
@@ -0,0 +1,473 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@code ConstraintSolver} divides a class into groups that honour {@link Constraints}.
+ *
+ * Students that must be kept together are merged into units with union-find, and the
+ * units are placed largest first, each in the smallest group that has room and holds no
+ * student it must be kept apart from: a greedy coloring of the conflict graph with the
+ * groups as colors. Units left in conflict are then moved, or swapped with a unit of
+ * another group, until no conflict remains or the time budget runs out. Finally, group
+ * sizes are brought within {@code groupSize +/- deviation}, splitting units if there is
+ * no other way. Apart from the local search, which is bounded by the time budget, the
+ * work is near-linear in the number of students and constraints.
+ *
+ * Constraints that cannot be met, such as a unit larger than a group or students that
+ * must be kept both together and apart, are reported by {@link #unmet()} rather than
+ * failing the division.
+ */
+public final class ConstraintSolver {
+
+    private static final int NONE = -1;
+
+    private final int classSize;
+    private final IntFunction<String> ids;
+    private final int min;
+    private final int max;
+    private final int groupCount;
+    private final RandomGenerator random;
+    private final long deadline;
+    private final List<String> unmet = new ArrayList<>();
+
+    // Students in rows that must be kept together
+    private static final class Unit {
+        private final int[] rows;
+        private int group = NONE;
+        // Position in units
+        private int index;
+
+        Unit(int[] rows) {
+            this.rows = rows;
+        }
+    }
+
+    private final List<Unit> units = new ArrayList<>();
+    private final Unit[] unitOf;
+    // The rows apart[apartStart[r]] up to apart[apartStart[r + 1]] must be kept apart from r
+    private int[] apartStart;
+    private int[] apart;
+    private final List<List<Unit>> members = new ArrayList<>();
+    private final int[] sizes;
+    // Groups by size, then index; a group is removed while its size changes
+    private final TreeSet<Integer> bySize;
+
+    /**
+     * Create a solver for a class.
+     *
+     * @pre ids gives a different ID for every row in [0, classSize)
+     * @param classSize  number of students in the class
+     * @param ids        the ID of the student in each row
+     * @param parameters group size and deviation
+     * @param random     generator used to order the students
+     * @param budget     time allowed for resolving conflicts
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public ConstraintSolver(int classSize, IntFunction<String> ids,
+            DivisionParameters parameters, RandomGenerator random, Duration budget) {
+        this.classSize = classSize;
+        this.ids = ids;
+        this.min = parameters.groupSize() - parameters.deviation();
+        this.max = parameters.groupSize() + parameters.deviation();
+        this.groupCount = DivisionPlan.of(classSize, parameters.groupSize(),
+                parameters.deviation()).groups();
+        this.random = random;
+        this.deadline = System.nanoTime() + budget.toNanos();
+        this.unitOf = new Unit[classSize];
+        this.sizes = new int[groupCount];
+        this.bySize = new TreeSet<>(Comparator.<Integer>comparingInt(group -> sizes[group])
+                .thenComparingInt(group -> group));
+        for (int group = 0; group < groupCount; group++) {
+            members.add(new ArrayList<>());
+            bySize.add(group);
+        }
+    }
+
+    /**
+     * Divide the class into groups.
+     *
+     * @pre this solver has not solved before
+     * @param constraints the constraints to honour
+     * @param students    the student in each row
+     * @return a division into groups of groupSize +/- deviation students that meets all
+     *         constraints except those in {@link #unmet()}
+     */
+    public Division solve(Constraints constraints, IntFunction<Student> students) {
+        Map<String, Integer> rows = new HashMap<>();
+        for (int row = 0; row < classSize; row++) {
+            rows.put(ids.apply(row), row);
+        }
+        unite(constraints.together(), rows);
+        int[] pairs = separate(constraints.apart(), rows);
+
+        place();
+        while (!expired() && resolve()) {
+            // Every round resolves at least one conflict
+        }
+        balance();
+        report(pairs);
+        return division(students);
+    }
+
+    // The division with the groups as placed.
+    private Division division(IntFunction<Student> students) {
+        int[] order = new int[classSize];
+        int[] offsets = new int[groupCount + 1];
+        for (int group = 0; group < groupCount; group++) {
+            int next = offsets[group];
+            for (Unit unit : members.get(group)) {
+                System.arraycopy(unit.rows, 0, order, next, unit.rows.length);
+                next += unit.rows.length;
+            }
+            offsets[group + 1] = next;
+        }
+        return Division.of(students, order, offsets);
+    }
+
+    /**
+     * Constraints that were not met.
+     *
+     * @pre {@link #solve} has been called
+     * @return a description of every constraint that the division does not meet
+     */
+    public List<String> unmet() {
+        return List.copyOf(unmet);
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - deadline > 0;
+    }
+
+    // The rows of ids, reporting unknown IDs.
+    private int[] rows(List<String> constraint, Map<String, Integer> rows) {
+        int[] result = new int[constraint.size()];
+        int count = 0;
+        for (String id : constraint) {
+            Integer row = rows.get(id);
+            if (row == null) {
+                unmet.add("Unknown student %s in constraint %s.".formatted(id, constraint));
+            } else {
+                result[count++] = row;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Merge students that must be kept together into units, with union-find.
+    private void unite(List<List<String>> together, Map<String, Integer> rows) {
+        int[] parent = new int[classSize];
+        int[] weight = new int[classSize];
+        for (int row = 0; row < classSize; row++) {
+            parent[row] = row;
+            weight[row] = 1;
+        }
+        for (List<String> constraint : together) {
+            int[] unite = rows(constraint, rows);
+            for (int i = 1; i < unite.length; i++) {
+                union(parent, weight, unite[0], unite[i]);
+            }
+        }
+        addUnits(parent);
+    }
+
+    // Add the sets of rows with the same root as units.
+    private void addUnits(int[] parent) {
+        // Counting sort of the rows by root, so that every unit is a slice
+        int[] start = new int[classSize + 1];
+        int[] root = new int[classSize];
+        for (int row = 0; row < classSize; row++) {
+            root[row] = find(parent, row);
+            start[root[row] + 1]++;
+        }
+        Arrays.parallelPrefix(start, Integer::sum);
+        int[] sorted = new int[classSize];
+        int[] next = Arrays.copyOf(start, classSize);
+        for (int row = 0; row < classSize; row++) {
+            sorted[next[root[row]]++] = row;
+        }
+        for (int row = 0; row < classSize; row++) {
+            addUnit(Arrays.copyOfRange(sorted, start[row], start[row + 1]));
+        }
+    }
+
+    private static int find(int[] parent, int row) {
+        int root = row;
+        while (parent[root] != root) {
+            parent[root] = parent[parent[root]];
+            root = parent[root];
+        }
+        return root;
+    }
+
+    private static void union(int[] parent, int[] weight, int row, int other) {
+        int a = find(parent, row);
+        int b = find(parent, other);
+        if (a == b) {
+            return;
+        }
+        if (weight[a] < weight[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        parent[b] = a;
+        weight[a] += weight[b];
+    }
+
+    // Add the students in rows as a unit, or as units of max students if they do not fit.
+    private void addUnit(int[] rows) {
+        if (rows.length > max) {
+            unmet.add("Students %s cannot be kept together in groups of at most %d."
+                    .formatted(describe(rows), max));
+        }
+        for (int from = 0; from < rows.length; from += max) {
+            Unit unit = new Unit(Arrays.copyOfRange(rows, from,
+                    Math.min(rows.length, from + max)));
+            for (int row : unit.rows) {
+                unitOf[row] = unit;
+            }
+            add(unit);
+        }
+    }
+
+    // Build the conflict graph, returning the pairs of rows to keep apart.
+    private int[] separate(List<List<String>> constraints, Map<String, Integer> rows) {
+        int[] pairs = pairs(constraints, rows);
+        apartStart = new int[classSize + 1];
+        for (int row : pairs) {
+            apartStart[row + 1]++;
+        }
+        Arrays.parallelPrefix(apartStart, Integer::sum);
+        apart = new int[pairs.length];
+        int[] next = Arrays.copyOf(apartStart, classSize);
+        for (int i = 0; i < pairs.length; i += 2) {
+            apart[next[pairs[i]]++] = pairs[i + 1];
+            apart[next[pairs[i + 1]]++] = pairs[i];
+        }
+        return pairs;
+    }
+
+    // Every pair of rows in the same constraint, one after the other.
+    private int[] pairs(List<List<String>> constraints, Map<String, Integer> rows) {
+        int[] pairs = new int[0];
+        int count = 0;
+        for (List<String> constraint : constraints) {
+            int[] separate = rows(constraint, rows);
+            for (int i = 0; i < separate.length; i++) {
+                for (int j = i + 1; j < separate.length; j++) {
+                    if (count + 2 > pairs.length) {
+                        pairs = Arrays.copyOf(pairs, Math.max(16, 2 * pairs.length));
+                    }
+                    pairs[count++] = separate[i];
+                    pairs[count++] = separate[j];
+                }
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    // Place every unit, largest and most constrained first, in the smallest group with room.
+    private void place() {
+        Unit[] order = units.toArray(new Unit[0]);
+        for (int i = order.length - 1; i > 0; i--) {
+            int other = random.nextInt(0, i + 1);
+            Unit swap = order[i];
+            order[i] = order[other];
+            order[other] = swap;
+        }
+        Arrays.sort(order, Comparator.<Unit>comparingInt(unit -> unit.rows.length)
+                .thenComparingInt(this::degree).reversed());
+        for (Unit unit : order) {
+            put(unit, choose(unit));
+        }
+    }
+
+    private int degree(Unit unit) {
+        int degree = 0;
+        for (int row : unit.rows) {
+            degree += apartStart[row + 1] - apartStart[row];
+        }
+        return degree;
+    }
+
+    // The smallest group with room and without conflicts, else the smallest group. At
+    // most degree(unit) groups with conflicts are skipped.
+    private int choose(Unit unit) {
+        for (int group : bySize) {
+            if (sizes[group] + unit.rows.length > max) {
+                break;
+            }
+            if (!conflicts(unit, group, unit)) {
+                return group;
+            }
+        }
+        return bySize.first();
+    }
+
+    // Does group hold a student that unit must be kept apart from, other than in ignored?
+    private boolean conflicts(Unit unit, int group, Unit ignored) {
+        for (int row : unit.rows) {
+            for (int i = apartStart[row]; i < apartStart[row + 1]; i++) {
+                Unit other = unitOf[apart[i]];
+                if (other.group == group && other != unit && other != ignored) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // One round of local search, returning whether any conflict was resolved.
+    private boolean resolve() {
+        boolean resolved = false;
+        for (Unit unit : units.toArray(new Unit[0])) {
+            if (expired()) {
+                return false;
+            }
+            if (conflicts(unit, unit.group, unit) && relocate(unit)) {
+                resolved = true;
+            }
+        }
+        return resolved;
+    }
+
+    // Move unit, or swap it with a unit of another group, to a group without conflicts.
+    private boolean relocate(Unit unit) {
+        int start = random.nextInt(0, groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            int to = (start + i) % groupCount;
+            if (to != unit.group && !conflicts(unit, to, unit) && relocate(unit, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Move unit to group to, or swap it with a unit there, within the size bounds.
+    private boolean relocate(Unit unit, int to) {
+        int from = unit.group;
+        if (fits(from, -unit.rows.length) && fits(to, unit.rows.length)) {
+            move(unit, to);
+            return true;
+        }
+        return swap(unit, to);
+    }
+
+    private boolean swap(Unit unit, int to) {
+        int from = unit.group;
+        for (Unit other : members.get(to)) {
+            int delta = other.rows.length - unit.rows.length;
+            if (!fits(from, delta) || !fits(to, -delta)) {
+                continue;
+            }
+            if (!conflicts(unit, to, other) && !conflicts(other, from, unit)) {
+                move(unit, to);
+                move(other, from);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Does group stay within the size bounds when its size changes by delta?
+    private boolean fits(int group, int delta) {
+        int size = sizes[group] + delta;
+        return min <= size && size <= max;
+    }
+
+    // Move rows from the largest to the smallest group until all are within bounds.
+    private void balance() {
+        while (!bySize.isEmpty()
+                && (sizes[bySize.last()] > max || sizes[bySize.first()] < min)) {
+            int from = bySize.last();
+            int to = bySize.first();
+            move(single(from, to), to);
+        }
+    }
+
+    // A unit of one student in group from, preferably without conflicts in group to.
+    private Unit single(int from, int to) {
+        Unit single = null;
+        for (Unit unit : members.get(from)) {
+            if (unit.rows.length != 1) {
+                continue;
+            }
+            if (!conflicts(unit, to, unit)) {
+                return unit;
+            }
+            single = unit;
+        }
+        return single == null ? split(members.get(from).get(0)) : single;
+    }
+
+    // Split unit into units of one student, returning one of them. The first takes the
+    // place of unit in units, so splitting takes time in the size of unit only.
+    private Unit split(Unit unit) {
+        unmet.add("Students %s could not be kept together.".formatted(describe(unit.rows)));
+        int group = unit.group;
+        remove(unit);
+        Unit single = null;
+        for (int i = 0; i < unit.rows.length; i++) {
+            single = new Unit(new int[] {unit.rows[i]});
+            unitOf[unit.rows[i]] = single;
+            if (i == 0) {
+                single.index = unit.index;
+                units.set(unit.index, single);
+            } else {
+                add(single);
+            }
+            put(single, group);
+        }
+        return single;
+    }
+
+    private void add(Unit unit) {
+        unit.index = units.size();
+        units.add(unit);
+    }
+
+    private void move(Unit unit, int group) {
+        remove(unit);
+        put(unit, group);
+    }
+
+    private void put(Unit unit, int group) {
+        bySize.remove(group);
+        sizes[group] += unit.rows.length;
+        bySize.add(group);
+        members.get(group).add(unit);
+        unit.group = group;
+    }
+
+    private void remove(Unit unit) {
+        bySize.remove(unit.group);
+        sizes[unit.group] -= unit.rows.length;
+        bySize.add(unit.group);
+        members.get(unit.group).remove(unit);
+        unit.group = NONE;
+    }
+
+    // Report the pairs of students to keep apart that share a group.
+    private void report(int[] pairs) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            int group = unitOf[pairs[i]].group;
+            if (group == unitOf[pairs[i + 1]].group) {
+                unmet.add("Students %s and %s must not share a group, but both are in group %d."
+                        .formatted(ids.apply(pairs[i]), ids.apply(pairs[i + 1]), group + 1));
+            }
+        }
+    }
+
+    private String describe(int[] rows) {
+        return String.join(", ", Arrays.stream(rows).mapToObj(ids).toList());
+    }
+
+}
@@ -0,0 +1,110 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * {@code Constraints} on the division of a class into groups.
+ *
+ * A constraints file has one constraint per line: the kind, followed by the IDs of two
+ * or more students. Students in a {@code together} constraint are put in the same
+ * group, and students in an {@code apart} constraint are all put in different groups.
+ * Empty lines and lines starting with {@code #} are ignored. For example:
+ *
+ * <pre>
+ * # lab partners
+ * together,232112,232113
+ * apart,232112,232114,232115
+ * </pre>
+ *
+ * @param together sets of IDs of students that must share a group
+ * @param apart    sets of IDs of students that must not share a group
+ */
+public record Constraints(List<List<String>> together, List<List<String>> apart) {
+
+    /**
+     * No constraints at all.
+     */
+    public static final Constraints NONE = new Constraints(List.of(), List.of());
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.Builder
+            .create(CSVFormat.DEFAULT)
+            .setCommentMarker('#')
+            .setIgnoreEmptyLines(true)
+            .setIgnoreSurroundingSpaces(true)
+            .build();
+
+    /**
+     * Create constraints.
+     *
+     * @pre true
+     * @param together sets of IDs of students that must share a group; they are copied
+     * @param apart    sets of IDs of students that must not share a group; they are copied
+     */
+    public Constraints {
+        together = together.stream().map(List::copyOf).toList();
+        apart = apart.stream().map(List::copyOf).toList();
+    }
+
+    /**
+     * Read constraints from a file.
+     *
+     * @pre true
+     * @param file path to the constraints file
+     * @return the constraints in file
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a line is not a valid constraint
+     */
+    public static Constraints of(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return of(reader);
+        }
+    }
+
+    /**
+     * Read constraints from reader.
+     *
+     * The reader is not closed.
+     *
+     * @pre true
+     * @param reader reader with constraints, one per line
+     * @return the constraints read
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a line is not a valid constraint
+     */
+    public static Constraints of(Reader reader) throws IOException {
+        List<List<String>> together = new ArrayList<>();
+        List<List<String>> apart = new ArrayList<>();
+        for (CSVRecord record : CSV_FORMAT.parse(reader)) {
+            List<String> ids = record.stream().skip(1).toList();
+            if (ids.size() < 2) {
+                throw new IllegalArgumentException("Line %d: expected two or more IDs."
+                        .formatted(record.getRecordNumber()));
+            }
+            switch (record.get(0)) {
+                case "together" -> together.add(ids);
+                case "apart" -> apart.add(ids);
+                default -> throw new IllegalArgumentException(
+                        "Line %d: unknown constraint '%s', expected 'together' or 'apart'."
+                                .formatted(record.getRecordNumber(), record.get(0)));
+            }
+        }
+        return new Constraints(together, apart);
+    }
+
+    /**
+     * Determine if there are any constraints.
+     *
+     * @pre true
+     * @return true if there are no constraints, false otherwise
+     */
+    public boolean isEmpty() {
+        return together.isEmpty() && apart.isEmpty();
+    }
+
+}
@@ -0,0 +1,57 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+/**
+ * Write groups of students as CSV, one student per row with the number of their group.
+ *
+ * <pre>
+ * group,first name,last name,ID
+ * 1,Huub,de Beer,1
+ * 1,Jan,Jansens,2
+ * 2,Jan,van Dijk,3
+ * </pre>
+ */
+public class CsvGroupsRenderer implements GroupsRenderer {
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.Builder
+            .create(CSVFormat.DEFAULT)
+            .setHeader("group", "first name", "last name", "ID")
+            .build();
+
+    /**
+     * Write groups of students to out as CSV.
+     *
+     * The rows hold full names, so uniqueFirstName is not used.
+     *
+     * @pre true
+     * @param groups the groups to write
+     * @param uniqueFirstName for each first name, whether it is unique in the class
+     * @param out writer to write to; it is flushed but not closed
+     * @throws IOException when an I/O error occurs
+     */
+    @Override
+    public void render(List<? extends Collection<Student>> groups,
+            Map<String, Boolean> uniqueFirstName, Writer out) throws IOException {
+        CSVPrinter printer = new CSVPrinter(out, CSV_FORMAT);
+        int groupNr = 0;
+        for (Collection<Student> group : groups) {
+            groupNr++;
+            for (Student student : group) {
+                printer.printRecord(groupNr, student.firstName(), student.lastName(),
+                        student.id());
+            }
+        }
+        printer.flush();
+    }
+
+    @Override
+    public String contentType() {
+        return "text/csv; charset=utf-8";
+    }
+
+}
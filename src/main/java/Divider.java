@@ -0,0 +1,113 @@
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * {@code Divider} divides classes of students into groups at random.
+ *
+ * Unlike {@link ClassDivider}, a divider has no state: every call to {@code divide}
+ * shuffles with its own generator created from the given seed, and returns a new
+ * immutable {@link DivisionResult}. One divider can therefore be shared by any number of
+ * threads, and a class divided with the same parameters and seed always gives the same
+ * groups, on whatever thread.
+ */
+public final class Divider {
+
+    /**
+     * Choose the seed of a division.
+     *
+     * @pre true
+     * @param seed a seed, or null for a random seed
+     * @return seed if it is not null, a random seed otherwise
+     */
+    public static long seed(Long seed) {
+        return seed == null ? new SplittableRandom().nextLong() : seed;
+    }
+
+    /**
+     * Divide a class of students into groups.
+     *
+     * @pre klas is not modified while it is being divided
+     * @param klas       the students to be divided into groups
+     * @param parameters group size and deviation
+     * @param seed       seed of the random division
+     * @return the groups and first name uniqueness of klas
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public DivisionResult divide(Group<Student> klas, DivisionParameters parameters,
+            long seed) {
+        Division division = Division.of(klas, parameters.groupSize(), parameters.deviation(),
+                new SplittableRandom(seed));
+        return new DivisionResult(division, uniqueFirstName(klas.toArray(new Student[0])));
+    }
+
+    /**
+     * Divide a class of students into groups that honour constraints.
+     *
+     * See {@link ConstraintSolver}. Without constraints, the class is divided as by
+     * {@link #divide(Group, DivisionParameters, long)}.
+     *
+     * @pre klas is not modified while it is being divided
+     * @param klas         the students to be divided into groups
+     * @param parameters   group size and deviation
+     * @param seed         seed of the random division
+     * @param constraints  students to keep together or apart
+     * @param budgetMillis milliseconds allowed for resolving conflicts between
+     *                     constraints
+     * @return the groups and first name uniqueness of klas, and the constraints that
+     *         were not met
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public ConstrainedResult divide(Group<Student> klas, DivisionParameters parameters,
+            long seed, Constraints constraints, long budgetMillis) {
+        if (constraints.isEmpty()) {
+            return new ConstrainedResult(divide(klas, parameters, seed), List.of());
+        }
+        Student[] students = klas.toArray(new Student[0]);
+        ConstraintSolver solver = new ConstraintSolver(students.length,
+                row -> students[row].id(), parameters, new SplittableRandom(seed),
+                Duration.ofMillis(budgetMillis));
+        Division division = solver.solve(constraints, row -> students[row]);
+        return new ConstrainedResult(new DivisionResult(division, uniqueFirstName(students)),
+                solver.unmet());
+    }
+
+    /**
+     * Divide a roster of students into groups.
+     *
+     * @pre roster is not modified while it or the result is used
+     * @param roster     the students to be divided into groups
+     * @param parameters group size and deviation
+     * @param seed       seed of the random division
+     * @return the groups and first name uniqueness of roster
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public DivisionResult divide(Roster roster, DivisionParameters parameters, long seed) {
+        Division division = Division.of(roster, parameters.groupSize(),
+                parameters.deviation(), new SplittableRandom(seed));
+
+        Map<String, Boolean> uniqueFirstName = new HashMap<>();
+        for (int row = 0; row < roster.size(); row++) {
+            uniqueFirstName.put(roster.firstName(row), roster.hasUniqueFirstName(row));
+        }
+        return new DivisionResult(division, uniqueFirstName);
+    }
+
+    /**
+     * Determine for every first name in a class whether it is unique.
+     *
+     * @pre true
+     * @param students the students in the class
+     * @return for each first name of students, whether no other student has it
+     */
+    static Map<String, Boolean> uniqueFirstName(Student[] students) {
+        Map<String, Boolean> uniqueFirstName = new HashMap<>();
+        for (Student student : students) {
+            uniqueFirstName.merge(student.firstName(), true, (unique, other) -> false);
+        }
+        return uniqueFirstName;
+    }
+
+}
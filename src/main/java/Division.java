@@ -0,0 +1,249 @@
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@code Division} of a class of students into groups.
+ *
+ * A division stores one random permutation of the rows of the class, and the offset in
+ * it where each group starts. Group {@code g} consists of the students in rows
+ * {@code order[offsets[g]]} up to {@code order[offsets[g + 1]]}, and is exposed as a
+ * read-only {@link Set} view over that slice. No student is copied into a group, so a
+ * division of n students into k groups takes two arrays of n and k + 1 ints.
+ */
+public final class Division {
+
+    private final IntFunction<Student> students;
+    private final int[] order;
+    private final int[] offsets;
+    private final List<Set<Student>> groups;
+
+    /*
+     * Representation invariant:
+     * - order is a permutation of 0 .. order.length - 1
+     * - offsets[0] == 0, offsets[offsets.length - 1] == order.length, and offsets is
+     *   non-decreasing
+     */
+
+    private Division(IntFunction<Student> students, int[] order, int[] offsets) {
+        this.students = students;
+        this.order = order;
+        this.offsets = offsets;
+        this.groups = new GroupList();
+    }
+
+    /**
+     * Divide a class of students into groups.
+     *
+     * @pre true
+     * @param klas the students to be divided into groups
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @return the division of klas into groups of groupSize +/- deviation students
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public static Division of(Group<Student> klas, int groupSize, int deviation) {
+        return of(klas, groupSize, deviation, Group.random());
+    }
+
+    /**
+     * Divide a class of students into groups at random.
+     *
+     * The division depends only on the order in which students were added to klas and
+     * the numbers drawn from random.
+     *
+     * @pre true
+     * @param klas the students to be divided into groups
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @param random generator used to shuffle the students
+     * @return the division of klas into groups of groupSize +/- deviation students
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public static Division of(Group<Student> klas, int groupSize, int deviation,
+            RandomGenerator random) {
+        Student[] students = klas.toArray(new Student[0]);
+        return of(students.length, row -> students[row], groupSize, deviation, random);
+    }
+
+    /**
+     * Divide a roster of students into groups.
+     *
+     * Students are only created from the roster when a group is iterated over.
+     *
+     * @pre true
+     * @param roster the students to be divided into groups
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @return the division of roster into groups of groupSize +/- deviation students
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public static Division of(Roster roster, int groupSize, int deviation) {
+        return of(roster, groupSize, deviation, Group.random());
+    }
+
+    /**
+     * Divide a roster of students into groups at random.
+     *
+     * @pre true
+     * @param roster the students to be divided into groups
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @param random generator used to shuffle the rows
+     * @return the division of roster into groups of groupSize +/- deviation students
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public static Division of(Roster roster, int groupSize, int deviation,
+            RandomGenerator random) {
+        return of(roster.size(), roster::get, groupSize, deviation, random);
+    }
+
+    private static Division of(int classSize, IntFunction<Student> students, int groupSize,
+            int deviation, RandomGenerator random) {
+        DivisionEvent event = DivisionEvent.start();
+        DivisionPlan plan = DivisionPlan.of(classSize, groupSize, deviation);
+
+        int[] order = new int[classSize];
+        for (int row = 0; row < order.length; row++) {
+            int other = random.nextInt(0, row + 1);
+            order[row] = order[other];
+            order[other] = row;
+        }
+
+        int[] offsets = new int[plan.groups() + 1];
+        for (int g = 0; g < plan.groups(); g++) {
+            offsets[g + 1] = offsets[g] + plan.size(g);
+        }
+        event.commit(plan, groupSize, deviation);
+        return new Division(students, order, offsets);
+    }
+
+    /**
+     * Create a division from the rows of its groups.
+     *
+     * @pre order is a permutation of the rows of the class, and offsets is non-decreasing
+     *      from {@code offsets[0] == 0} to {@code offsets[offsets.length - 1] ==
+     *      order.length}
+     * @param students the student in each row
+     * @param order    the rows of the students, group after group
+     * @param offsets  the offset in order where each group starts, and order.length
+     * @return the division with group g in {@code order[offsets[g]]} up to
+     *         {@code order[offsets[g + 1]]}
+     */
+    static Division of(IntFunction<Student> students, int[] order, int[] offsets) {
+        return new Division(students, order, offsets);
+    }
+
+    /**
+     * Number of groups in this division.
+     *
+     * @pre true
+     * @return the number of groups
+     */
+    public int groupCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Number of students in this division.
+     *
+     * @pre true
+     * @return the number of students in all groups together
+     */
+    public int studentCount() {
+        return order.length;
+    }
+
+    /**
+     * Group in this division.
+     *
+     * @pre {@code 0 <= group < groupCount()}
+     * @param group index of the group
+     * @return a read-only view of the students in that group
+     */
+    public Set<Student> group(int group) {
+        return groups.get(group);
+    }
+
+    /**
+     * Groups in this division.
+     *
+     * @pre true
+     * @return a read-only list of read-only views of the groups
+     */
+    public List<Set<Student>> groups() {
+        return groups;
+    }
+
+    /**
+     * Rows of the students in a group.
+     *
+     * @pre {@code 0 <= group < groupCount()}
+     * @param group index of the group
+     * @return a new array with the row of every student in that group
+     */
+    public int[] rows(int group) {
+        Objects.checkIndex(group, groupCount());
+        return Arrays.copyOfRange(order, offsets[group], offsets[group + 1]);
+    }
+
+    // The groups, each created on request as a view.
+    private final class GroupList extends AbstractList<Set<Student>> {
+
+        @Override
+        public Set<Student> get(int group) {
+            Objects.checkIndex(group, groupCount());
+            return new GroupView(offsets[group], offsets[group + 1]);
+        }
+
+        @Override
+        public int size() {
+            return groupCount();
+        }
+    }
+
+    // Read-only view of the students in order[from] up to order[to].
+    private final class GroupView extends AbstractSet<Student> {
+
+        private final int from;
+        private final int to;
+
+        GroupView(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<Student> iterator() {
+            return new Iterator<>() {
+                private int next = from;
+
+                @Override
+                public boolean hasNext() {
+                    return next < to;
+                }
+
+                @Override
+                public Student next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return students.apply(order[next++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@code DivisionCache} of recent division results.
+ *
+ * Results are keyed by a hash of the contents of the class, the division parameters and
+ * the seed, so a repeated division is answered without reading or dividing the class.
+ * Every result has a weight, and when the total weight exceeds the capacity, the least
+ * recently used results are evicted. A cache is safe to use from multiple threads. Two
+ * threads missing the same key at once may both compute the result.
+ */
+public class DivisionCache {
+
+    /**
+     * Key of a division result.
+     *
+     * @param content    hash of the contents of the class, see {@link #hash(byte[])}
+     * @param parameters group size and deviation
+     * @param seed       seed of the random division
+     */
+    public record Key(String content, DivisionParameters parameters, long seed) {
+    }
+
+    /**
+     * Computation of a division result on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Computation<E extends Exception> {
+
+        /**
+         * Compute the division result.
+         *
+         * @return the result
+         * @throws E when the result cannot be computed
+         */
+        DivisionResult compute() throws E;
+    }
+
+    /**
+     * Counters of a cache.
+     *
+     * @param hits      number of lookups answered from the cache
+     * @param misses    number of lookups that computed the result
+     * @param evictions number of results evicted
+     * @param entries   number of results in the cache
+     * @param weight    total weight of the results in the cache
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long weight) {
+    }
+
+    private final long capacity;
+    private final ToLongFunction<DivisionResult> weigher;
+    private final LinkedHashMap<Key, DivisionResult> results;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /*
+     * Representation: results in least recently used first order, and
+     * weight == (\sum r; results.containsValue(r); weigher(r)) <= capacity.
+     * All fields are guarded by this.
+     */
+
+    /**
+     * Create a cache.
+     *
+     * @pre {@code capacity >= 0}
+     * @param capacity maximum total weight of the cached results
+     * @param weigher  weight of a result, non-negative
+     */
+    public DivisionCache(long capacity, ToLongFunction<DivisionResult> weigher) {
+        this.capacity = capacity;
+        this.weigher = weigher;
+        this.results = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Create a cache that holds at most a number of results.
+     *
+     * @pre {@code entries >= 0}
+     * @param entries maximum number of cached results
+     * @return a new cache
+     */
+    public static DivisionCache ofEntries(int entries) {
+        return new DivisionCache(entries, result -> 1);
+    }
+
+    /**
+     * Create a cache that holds results with at most a total number of students.
+     *
+     * @pre {@code students >= 0}
+     * @param students maximum total number of students in cached results
+     * @return a new cache
+     */
+    public static DivisionCache ofStudents(long students) {
+        return new DivisionCache(students, result -> result.division().studentCount());
+    }
+
+    /**
+     * Hash the contents of a class.
+     *
+     * @pre true
+     * @param content the contents of a students file or snapshot
+     * @return the SHA-256 hash of content, in hexadecimal
+     */
+    public static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Look up a division result, computing and caching it on a miss.
+     *
+     * @pre true
+     * @param <E>         exception type of computation
+     * @param key         key of the result
+     * @param computation computes the result of key on a miss; it is called without
+     *                    holding a lock
+     * @return the result of key
+     * @throws E when computation fails; nothing is cached then
+     */
+    public <E extends Exception> DivisionResult get(Key key, Computation<E> computation)
+            throws E {
+        synchronized (this) {
+            DivisionResult result = results.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+            misses++;
+        }
+
+        DivisionResult result = computation.compute();
+        put(key, result);
+        return result;
+    }
+
+    private synchronized void put(Key key, DivisionResult result) {
+        long resultWeight = weigher.applyAsLong(result);
+        if (resultWeight > capacity) {
+            return;
+        }
+        DivisionResult old = results.put(key, result);
+        weight += resultWeight - (old == null ? 0 : weigher.applyAsLong(old));
+
+        Iterator<DivisionResult> eldest = results.values().iterator();
+        while (weight > capacity) {
+            weight -= weigher.applyAsLong(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Counters of this cache.
+     *
+     * @pre true
+     * @return the current counters
+     */
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, results.size(), weight);
+    }
+
+    /**
+     * Counters of this cache as JSON.
+     *
+     * @pre true
+     * @return the current counters as a JSON object
+     */
+    public String toJson() {
+        Stats stats = stats();
+        return "{\"hits\":%d,\"misses\":%d,\"evictions\":%d,\"entries\":%d,\"weight\":%d}"
+                .formatted(stats.hits(), stats.misses(), stats.evictions(), stats.entries(),
+                        stats.weight());
+    }
+
+}
@@ -0,0 +1,138 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@code DivisionEvent} is a Java Flight Recorder event for dividing a class into groups.
+ *
+ * Like all JFR events, it is cheap to create and nothing is recorded when recording is
+ * off; its fields are only filled in when the event will be committed.
+ */
+@Name(DivisionEvent.NAME)
+@Label("Division")
+@Category("Classdivider")
+@Description("Dividing a class into groups")
+@StackTrace(false)
+final class DivisionEvent extends Event {
+
+    /**
+     * Name of this event in recordings.
+     */
+    static final String NAME = "classdivider.Division";
+
+    /**
+     * Overflow strategy when every group has the target size.
+     */
+    static final String EXACT = "exact";
+
+    /**
+     * Overflow strategy when the overflow is spread over groups larger than the target.
+     */
+    static final String LARGER = "larger groups";
+
+    /**
+     * Overflow strategy when groups are made smaller than the target size.
+     */
+    static final String SMALLER = "smaller groups";
+
+    /**
+     * Overflow strategy when students join or leave an existing division, and groups
+     * are rebalanced by moving students between them.
+     */
+    static final String REBALANCED = "rebalanced";
+
+    @Label("Students")
+    private int students;
+
+    @Label("Group Size")
+    private int groupSize;
+
+    @Label("Deviation")
+    private int deviation;
+
+    @Label("Groups")
+    private int groups;
+
+    @Label("Overflow")
+    @Description("How students that do not fill a group of the target size are placed")
+    private String overflow;
+
+    @Label("Moves")
+    @Description("Students moved between groups to rebalance a changed division; 0 when "
+            + "group sizes are planned up front")
+    private int moves;
+
+    /**
+     * Begin timing dividing a class.
+     *
+     * @pre true
+     * @return the event, begun
+     */
+    static DivisionEvent start() {
+        DivisionEvent event = new DivisionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End this event and commit it if it is enabled and exceeds its threshold.
+     *
+     * @pre {@link #begin()} has been called
+     * @param plan the planned group sizes
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     */
+    void commit(DivisionPlan plan, int groupSize, int deviation) {
+        end();
+        if (shouldCommit()) {
+            int classSize = plan.groups() * plan.size() + plan.larger();
+            set(classSize, groupSize, deviation, plan.groups());
+            this.overflow = overflow(plan, groupSize);
+            commit();
+        }
+    }
+
+    /**
+     * End this event for a division that moved students between groups, and commit it
+     * if it is enabled and exceeds its threshold.
+     *
+     * @pre {@link #begin()} has been called
+     * @param students number of students in the class
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @param groups number of groups
+     * @param overflow how the overflow was placed, such as {@link #REBALANCED}
+     * @param moves number of students moved between groups
+     */
+    void commit(int students, int groupSize, int deviation, int groups, String overflow,
+            int moves) {
+        end();
+        if (shouldCommit()) {
+            set(students, groupSize, deviation, groups);
+            this.overflow = overflow;
+            this.moves = moves;
+            commit();
+        }
+    }
+
+    private static String overflow(DivisionPlan plan, int groupSize) {
+        if (plan.size() < groupSize) {
+            return SMALLER;
+        }
+        if (plan.size() > groupSize || plan.larger() > 0) {
+            return LARGER;
+        }
+        return EXACT;
+    }
+
+    private void set(int students, int groupSize, int deviation, int groups) {
+        this.students = students;
+        this.groupSize = groupSize;
+        this.deviation = deviation;
+        this.groups = groups;
+    }
+
+}
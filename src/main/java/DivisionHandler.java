@@ -0,0 +1,177 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Handle requests to divide a class: {@code POST /divide?groupSize=4&deviation=1}.
+ *
+ * The request body is the class, either a CSV file with student data, or a students
+ * snapshot when the content type is {@code application/octet-stream}. The query
+ * parameters are:
+ *
+ * <ul>
+ * <li>{@code groupSize}, the target group size, required;
+ * <li>{@code deviation}, the permitted deviation of the group size, default 1;
+ * <li>{@code seed}, the seed of the random division, default a random seed;
+ * <li>{@code format}, {@code json}, {@code csv} or {@code text}, default {@code json}.
+ * </ul>
+ *
+ * The response holds the groups, and the seed used in header {@code X-Seed}. Results of
+ * divisions with a given seed are cached by the contents of the request body, so
+ * repeated requests are answered without reading or dividing the class again. Invalid
+ * requests, and classes that cannot be divided, are answered with status 400 and a
+ * plain text message. A request body larger than the maximum is not read, and is
+ * answered with status 413.
+ */
+public class DivisionHandler implements HttpHandler {
+
+    private static final String SNAPSHOT_TYPE = "application/octet-stream";
+
+    private final Divider divider = new Divider();
+    private final DivisionCache cache;
+    private final int maxBody;
+
+    /**
+     * Create a handler.
+     *
+     * @pre {@code 0 <= maxBody < Integer.MAX_VALUE}
+     * @param cache   cache of the results of divisions with a given seed
+     * @param maxBody maximum number of bytes in a request body
+     */
+    public DivisionHandler(DivisionCache cache, int maxBody) {
+        this.cache = cache;
+        this.maxBody = maxBody;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                answer(exchange);
+            } else {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "Use POST to divide a class.");
+            }
+        }
+    }
+
+    private void answer(HttpExchange exchange) throws IOException {
+        byte[] bytes = body(exchange);
+        if (bytes == null) {
+            respond(exchange, 413, "Request body is larger than %d bytes.".formatted(maxBody));
+            return;
+        }
+        answer(exchange, bytes);
+    }
+
+    private void answer(HttpExchange exchange, byte[] bytes) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        GroupsRenderer renderer;
+        long seed;
+        DivisionResult result;
+        try {
+            renderer = GroupsRenderer.of(query.getOrDefault("format", "json"));
+            String seedParameter = query.get("seed");
+            seed = Divider.seed(seedParameter == null ? null : Long.valueOf(seedParameter));
+            result = divide(exchange, bytes, query, seed);
+        } catch (IllegalArgumentException | IOException e) {
+            respond(exchange, 400, e.getMessage());
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", renderer.contentType());
+        exchange.getResponseHeaders().set("X-Seed", Long.toString(seed));
+        exchange.sendResponseHeaders(200, 0);
+        renderer.render(result, exchange.getResponseBody());
+    }
+
+    // The request body, or null when it is larger than maxBody. A body with a
+    // Content-Length over maxBody is not read at all.
+    private byte[] body(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        // The server has checked that Content-Length is a number
+        if (length != null && Long.parseLong(length) > maxBody) {
+            return null;
+        }
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(maxBody + 1);
+            return bytes.length > maxBody ? null : bytes;
+        }
+    }
+
+    // Divide the class in the request body, using the cache when the seed is given.
+    private DivisionResult divide(HttpExchange exchange, byte[] bytes,
+            Map<String, String> query, long seed) throws IOException {
+        String groupSize = query.get("groupSize");
+        if (groupSize == null) {
+            throw new IllegalArgumentException("Missing required parameter 'groupSize'.");
+        }
+        DivisionParameters parameters = new DivisionParameters(Integer.parseInt(groupSize),
+                Integer.parseInt(query.getOrDefault("deviation", "1")));
+
+        String type = exchange.getRequestHeaders().getFirst("Content-Type");
+        boolean snapshot = type != null && type.startsWith(SNAPSHOT_TYPE);
+
+        if (!query.containsKey("seed")) {
+            // A random seed never repeats, so there is no point in caching
+            return divide(bytes, snapshot, parameters, seed);
+        }
+        String content = (snapshot ? "snapshot:" : "csv:") + DivisionCache.hash(bytes);
+        return cache.get(new DivisionCache.Key(content, parameters, seed),
+                () -> divide(bytes, snapshot, parameters, seed));
+    }
+
+    private DivisionResult divide(byte[] bytes, boolean snapshot, DivisionParameters parameters,
+            long seed) throws IOException {
+        if (snapshot) {
+            return divider.divide(StudentsSnapshot.of(ByteBuffer.wrap(bytes)), parameters, seed);
+        }
+        return divider.divide(StudentsFile.fromCSV(new String(bytes, StandardCharsets.UTF_8)),
+                parameters, seed);
+    }
+
+    /**
+     * Parse the query of a request URI.
+     *
+     * @pre true
+     * @param query raw query, or null
+     * @return the decoded value of every parameter in query
+     */
+    static Map<String, String> query(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            String name = equals < 0 ? parameter : parameter.substring(0, equals);
+            String value = equals < 0 ? "" : parameter.substring(equals + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    /**
+     * Send a plain text response.
+     *
+     * @pre the response headers of exchange have not been sent
+     * @param exchange the exchange to respond to
+     * @param status HTTP status code
+     * @param message text of the response
+     * @throws IOException when an I/O error occurs
+     */
+    static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+}
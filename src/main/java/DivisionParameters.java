@@ -0,0 +1,28 @@
+/**
+ * {@code DivisionParameters} of dividing a class into groups.
+ *
+ * @param groupSize the target size of each group
+ * @param deviation the permissible deviation in group sizes
+ */
+public record DivisionParameters(int groupSize, int deviation) {
+
+    /**
+     * Create division parameters.
+     *
+     * @pre true
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @throws IllegalArgumentException when groupSize is not positive, or deviation is not
+     *         in [0, groupSize)
+     */
+    public DivisionParameters {
+        if (groupSize <= 0) {
+            throw new IllegalArgumentException("Group size must be positive.");
+        }
+        if (deviation < 0 || deviation >= groupSize) {
+            throw new IllegalArgumentException(
+                    "Deviation must be non-negative and smaller than group size.");
+        }
+    }
+
+}
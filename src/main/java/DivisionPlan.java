@@ -0,0 +1,99 @@
+import java.util.Objects;
+
+/**
+ * {@code DivisionPlan} of the sizes of the groups a class is divided into.
+ *
+ * A class of n students can be divided into k groups of {@code groupSize +/- deviation}
+ * students exactly when {@code k * (groupSize - deviation) <= n <= k * (groupSize +
+ * deviation)}. Of all such k, a plan takes the one closest to {@code n / groupSize},
+ * the smaller on a tie, and spreads the students as evenly as possible over the groups:
+ * the first {@code larger} groups get one student more than the others. Group sizes that
+ * differ by at most one and average between the bounds are all within the bounds, so no
+ * group needs rebalancing.
+ *
+ * @param groups number of groups
+ * @param size   number of students in the smaller groups
+ * @param larger number of groups with {@code size + 1} students, which come first
+ */
+public record DivisionPlan(int groups, int size, int larger) {
+
+    private static final String INFEASIBLE =
+            "Unable to divide the class into groups with the specified parameters.";
+
+    /**
+     * Plan the division of a class into groups.
+     *
+     * @pre {@code classSize >= 0}
+     * @param classSize number of students in the class
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @return the plan with the number of groups closest to classSize / groupSize
+     * @throws IllegalArgumentException if the class cannot be divided into groups of
+     *         groupSize +/- deviation students, or deviation is not in [0, groupSize)
+     */
+    public static DivisionPlan of(int classSize, int groupSize, int deviation) {
+        if (deviation < 0 || deviation >= groupSize) {
+            throw new IllegalArgumentException(
+                    "Deviation must be non-negative and smaller than group size.");
+        }
+        long fewest = fewestGroups(classSize, groupSize, deviation);
+        long most = classSize / (groupSize - deviation);
+        if (fewest > most) {
+            throw new IllegalArgumentException(INFEASIBLE);
+        }
+
+        long nearest = (classSize + (groupSize - 1) / 2) / groupSize;
+        int groups = (int) Math.min(most, Math.max(fewest, nearest));
+        if (groups == 0) {
+            return new DivisionPlan(0, 0, 0);
+        }
+        return new DivisionPlan(groups, classSize / groups, classSize % groups);
+    }
+
+    /**
+     * Determine if a class can be divided into groups.
+     *
+     * @pre {@code classSize >= 0 && 0 <= deviation < groupSize}
+     * @param classSize number of students in the class
+     * @param groupSize the target size of each group
+     * @param deviation the permissible deviation in group sizes
+     * @return true if the class can be divided into groups of groupSize +/- deviation
+     *         students, false otherwise
+     */
+    public static boolean isFeasible(int classSize, int groupSize, int deviation) {
+        return fewestGroups(classSize, groupSize, deviation)
+                <= classSize / (groupSize - deviation);
+    }
+
+    // Number of groups of at most groupSize + deviation students needed for classSize.
+    private static long fewestGroups(int classSize, int groupSize, int deviation) {
+        long max = (long) groupSize + deviation;
+        return (classSize + max - 1) / max;
+    }
+
+    /**
+     * Number of students in a group.
+     *
+     * @pre {@code 0 <= group < groups()}
+     * @param group index of the group
+     * @return the number of students in that group
+     */
+    public int size(int group) {
+        return Objects.checkIndex(group, groups) < larger ? size + 1 : size;
+    }
+
+    /**
+     * Number of students in each group.
+     *
+     * @pre true
+     * @return the sizes of the groups, in order
+     */
+    public int[] sizes() {
+        int[] sizes = new int[groups];
+        for (int group = 0; group < groups; group++) {
+            sizes[group] = size(group);
+        }
+        return sizes;
+    }
+
+}
@@ -0,0 +1,39 @@
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code DivisionResult} of dividing a class: the groups, and for every first name in
+ * the class whether it is unique, so that students can be told apart by name.
+ *
+ * A result is immutable, and can be shared between threads.
+ *
+ * @param division        the groups
+ * @param uniqueFirstName for each first name in the class, whether it is unique in the
+ *                        class
+ */
+public record DivisionResult(Division division, Map<String, Boolean> uniqueFirstName) {
+
+    /**
+     * Create a division result.
+     *
+     * @pre true
+     * @param division        the groups
+     * @param uniqueFirstName for each first name in the class, whether it is unique in the
+     *                        class; it is copied
+     */
+    public DivisionResult {
+        uniqueFirstName = Map.copyOf(uniqueFirstName);
+    }
+
+    /**
+     * Groups in this result.
+     *
+     * @pre true
+     * @return a read-only list of read-only views of the groups
+     */
+    public List<Set<Student>> groups() {
+        return division.groups();
+    }
+
+}
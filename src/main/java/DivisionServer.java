@@ -0,0 +1,174 @@
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@code DivisionServer} divides classes over HTTP.
+ *
+ * The server runs the JDK's built-in HTTP server with one thread per request, virtual
+ * when available, see {@link TaskExecutors#perTask()}. It serves:
+ *
+ * <ul>
+ * <li>{@code POST /divide}, see {@link DivisionHandler};
+ * <li>{@code GET /stats}, the number of requests, percentiles of the latency of recent
+ * ones, and the counters of the result cache as JSON.
+ * </ul>
+ */
+public class DivisionServer {
+
+    private static final int SAMPLES = 1 << 14;
+    private static final double[] PERCENTILES = {50, 90, 99, 100};
+
+    /**
+     * Default capacity of the result cache, in students.
+     */
+    public static final long DEFAULT_CACHE_STUDENTS = 1_000_000;
+
+    /**
+     * Default maximum size of a request body, in bytes: 64 MiB.
+     */
+    public static final int DEFAULT_MAX_BODY = 64 << 20;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyRecorder latencies;
+    private final DivisionCache cache;
+
+    private DivisionServer(HttpServer server, DivisionCache cache, int maxBody) {
+        this.server = server;
+        this.executor = TaskExecutors.perTask();
+        this.latencies = new LatencyRecorder(SAMPLES);
+        this.cache = cache;
+
+        timed(server.createContext("/divide", new DivisionHandler(cache, maxBody)));
+        timed(server.createContext("/stats", this::stats));
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Start a server that caches results with up to a million students in total.
+     *
+     * @pre true
+     * @param address address to listen on; port 0 picks a free port
+     * @return the running server
+     * @throws IOException when the server cannot listen on address
+     */
+    public static DivisionServer start(InetSocketAddress address) throws IOException {
+        return start(address, DivisionCache.ofStudents(DEFAULT_CACHE_STUDENTS));
+    }
+
+    /**
+     * Start a server that accepts request bodies of up to 64 MiB.
+     *
+     * @pre true
+     * @param address address to listen on; port 0 picks a free port
+     * @param cache   cache of division results
+     * @return the running server
+     * @throws IOException when the server cannot listen on address
+     */
+    public static DivisionServer start(InetSocketAddress address, DivisionCache cache)
+            throws IOException {
+        return start(address, cache, DEFAULT_MAX_BODY);
+    }
+
+    /**
+     * Start a server.
+     *
+     * @pre {@code 0 <= maxBody < Integer.MAX_VALUE}
+     * @param address address to listen on; port 0 picks a free port
+     * @param cache   cache of division results
+     * @param maxBody maximum number of bytes in a request body; larger requests are
+     *                answered with status 413
+     * @return the running server
+     * @throws IOException when the server cannot listen on address
+     */
+    public static DivisionServer start(InetSocketAddress address, DivisionCache cache,
+            int maxBody) throws IOException {
+        DivisionServer divisionServer = new DivisionServer(HttpServer.create(address, 0),
+                cache, maxBody);
+        divisionServer.server.start();
+        return divisionServer;
+    }
+
+    /**
+     * Address this server listens on.
+     *
+     * @pre true
+     * @return the address, with the actual port
+     */
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * Latencies of the requests handled by this server.
+     *
+     * @pre true
+     * @return the latency recorder of this server
+     */
+    public LatencyRecorder latencies() {
+        return latencies;
+    }
+
+    /**
+     * Cache of the division results of this server.
+     *
+     * @pre true
+     * @return the result cache of this server
+     */
+    public DivisionCache cache() {
+        return cache;
+    }
+
+    /**
+     * Stop this server, waiting at most delay seconds for running requests to finish.
+     *
+     * @pre {@code delay >= 0}
+     * @param delay maximum number of seconds to wait
+     */
+    public void stop(int delay) {
+        server.stop(delay);
+        executor.shutdownNow();
+    }
+
+    // Record the latency of every request to context.
+    private void timed(HttpContext context) {
+        context.getFilters().add(new Filter() {
+            @Override
+            public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+                long start = System.nanoTime();
+                try {
+                    chain.doFilter(exchange);
+                } finally {
+                    latencies.record(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public String description() {
+                return "Records request latencies";
+            }
+        });
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long[] values = latencies.percentiles(PERCENTILES);
+            String json = String.format(Locale.ROOT, "{\"requests\":%d,\"p50Millis\":%.3f,"
+                    + "\"p90Millis\":%.3f,\"p99Millis\":%.3f,\"maxMillis\":%.3f,\"cache\":%s}",
+                    latencies.count(), values[0] / 1e6, values[1] / 1e6, values[2] / 1e6,
+                    values[3] / 1e6, cache.toJson());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+}
@@ -1,15 +1,30 @@
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@code Group} of things.
  *
  * A {@code Group} is a set.
+ *
+ * A group picks and iterates over its members at random with the generator it was
+ * created with. Groups created without one share a generator, which
+ * {@link #setRandomSeed(long)} replaces. Give concurrently used groups their own
+ * generator, such as a {@link java.util.SplittableRandom}, so that they do not contend on
+ * the shared one and each stays deterministic for its own seed.
  * 
  * @author Huub de Beer
  * @param <T> group member type
@@ -30,12 +45,39 @@ public class Group<T> implements Set<T> {
         Group.RNG = new Random(seed);
     }
 
-    private final List<T> members;
+    /**
+     * Random number generator used to randomly pick members from groups.
+     *
+     * @return the random number generator shared by all groups
+     */
+    static Random random() {
+        return Group.RNG;
+    }
+
+    // Marks a slot whose member has been removed.
+    private static final Object REMOVED = new Object();
+
+    private final List<Object> slots;
+    private final Map<T, Integer> index;
+    private final RandomGenerator random;
+    private int removed;
+    private int modifications;
 
     /*
      * Model: {@code {m|this.contains(m)}}
      *
-     * Abstraction function: AF(this) = {m|members.contains(m)}
+     * Representation: members are stored in insertion order in slots, with
+     * removed members replaced by REMOVED. Index maps every member to its slot
+     * so that membership tests, additions and removals take constant time.
+     *
+     * Abstraction function: AF(this) = {m|index.containsKey(m)}
+     *
+     * Representation invariant:
+     * - (\forall m; index.containsKey(m); slots.get(index.get(m)) == m)
+     * - removed == |{i|slots.get(i) == REMOVED}|
+     * - slots.size() == index.size() + removed
+     *
+     * Random choices use random, or the shared RNG when random == null.
      */
 
     /**
@@ -44,7 +86,57 @@ public class Group<T> implements Set<T> {
      * @pre true
      */
     public Group() {
-        members = new ArrayList<>();
+        slots = new ArrayList<>();
+        index = new HashMap<>();
+        random = null;
+    }
+
+    /**
+     * Create a new empty group that picks members with its own random generator.
+     *
+     * @pre true
+     * @param random generator used to pick members from and iterate over this group; it
+     *        should not be used by other threads
+     */
+    public Group(RandomGenerator random) {
+        slots = new ArrayList<>();
+        index = new HashMap<>();
+        this.random = Objects.requireNonNull(random);
+    }
+
+    // Generator of this group, or the shared one if this group has none.
+    private RandomGenerator generator() {
+        return random != null ? random : Group.RNG;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T slot(int i) {
+        return (T) slots.get(i);
+    }
+
+    // Members in insertion order.
+    @SuppressWarnings("unchecked")
+    private Stream<T> members() {
+        return slots.stream().filter(m -> m != REMOVED).map(m -> (T) m);
+    }
+
+    // Drop the REMOVED slots once they outnumber the members, so that slots
+    // never grows beyond twice the size of this group.
+    private void compact() {
+        if (removed <= index.size()) {
+            return;
+        }
+        int j = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            T member = slot(i);
+            if (member != REMOVED) {
+                slots.set(j, member);
+                index.put(member, j);
+                j++;
+            }
+        }
+        slots.subList(j, slots.size()).clear();
+        removed = 0;
     }
 
     /**
@@ -56,7 +148,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public int size() {
-        return members.size();
+        return index.size();
     }
 
     /**
@@ -68,7 +160,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean isEmpty() {
-        return members.isEmpty();
+        return index.isEmpty();
     }
 
     /**
@@ -83,12 +175,17 @@ public class Group<T> implements Set<T> {
         if (isEmpty()) {
             throw new IllegalStateException("Cannot pick an member from an empty group.");
         }
-        return members.get(Group.RNG.nextInt(0, size()));
+        // At most half of the slots are removed, so this takes two tries on average
+        T pick;
+        do {
+            pick = slot(generator().nextInt(0, slots.size()));
+        } while (pick == REMOVED);
+        return pick;
     }
 
     @Override
     public String toString() {
-        return members.stream().map(Object::toString).collect(Collectors.joining("; "));
+        return members().map(Object::toString).collect(Collectors.joining("; "));
     }
 
     /**
@@ -101,8 +198,10 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean add(T member) {
-        if (!members.contains(member)) {
-            members.add(member);
+        if (!index.containsKey(member)) {
+            index.put(member, slots.size());
+            slots.add(member);
+            modifications++;
             return true;
         } else {
             return false;
@@ -110,31 +209,61 @@ public class Group<T> implements Set<T> {
     }
 
     // Iterate over the members in this group in a random order.
+    //
+    // The order is a Fisher-Yates shuffle of the member slots that is performed
+    // lazily: every call to next() swaps a random not yet visited slot to the
+    // front of the unvisited part and returns it. A full pass takes O(n) time.
     private class RandomIterator implements Iterator<T> {
-        List<T> alreadyPicked;
+        private final int[] order;
+        private final int expectedModifications;
+        private int next;
 
         public RandomIterator() {
-            alreadyPicked = new ArrayList<>();
+            order = new int[size()];
+            int j = 0;
+            for (int i = 0; i < slots.size(); i++) {
+                if (slots.get(i) != REMOVED) {
+                    order[j++] = i;
+                }
+            }
+            expectedModifications = modifications;
         }
 
         @Override
         public boolean hasNext() {
-            return members.size() != alreadyPicked.size();
+            return next < order.length;
         }
 
         @Override
         public T next() {
-            List<T> candidates = members
-                    .stream()
-                    .filter(s -> !alreadyPicked.contains(s))
-                    .toList();
-
-            T pick = candidates.get(RNG.nextInt(0, candidates.size()));
-            alreadyPicked.add(pick);
-            return pick;
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            int pick = next + generator().nextInt(0, order.length - next);
+            int slot = order[pick];
+            order[pick] = order[next];
+            order[next] = slot;
+            next++;
+            return slot(slot);
         }
     }
 
+    /**
+     * Perform an action for every member of this group, in the order they were added.
+     *
+     * Unlike iterating over this group, this allocates nothing per member.
+     *
+     * @pre action does not modify this group
+     * @param action action to perform for each member
+     */
+    public void forEachInOrder(Consumer<? super T> action) {
+        members().forEach(action);
+    }
+
     /**
      * Iterate over the members in this group in random order.
      *
@@ -169,7 +298,10 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public void clear() {
-        this.members.clear();
+        this.slots.clear();
+        this.index.clear();
+        this.removed = 0;
+        this.modifications++;
     }
 
     /**
@@ -182,7 +314,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean contains(Object member) {
-        return this.members.contains(member);
+        return this.index.containsKey(member);
     }
 
     /**
@@ -195,7 +327,12 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean containsAll(Collection<?> members) {
-        return this.members.containsAll(members);
+        for (Object member : members) {
+            if (!contains(member)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -212,7 +349,15 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean remove(Object member) {
-        return this.members.remove(member);
+        Integer i = this.index.remove(member);
+        if (i == null) {
+            return false;
+        }
+        this.slots.set(i, REMOVED);
+        this.removed++;
+        this.modifications++;
+        compact();
+        return true;
     }
 
     /**
@@ -229,7 +374,11 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean removeAll(Collection<?> members) {
-        return this.members.removeAll(members);
+        boolean changed = false;
+        for (Object member : members) {
+            changed |= remove(member);
+        }
+        return changed;
     }
 
     /**
@@ -246,7 +395,9 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean retainAll(Collection<?> members) {
-        return this.members.retainAll(members);
+        Set<?> retain = members instanceof Set<?> set ? set : new HashSet<>(members);
+        List<T> drop = members().filter(m -> !retain.contains(m)).toList();
+        return removeAll(drop);
     }
 
     /**
@@ -264,7 +415,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public Object[] toArray() {
-        return this.members.toArray();
+        return members().toArray();
     }
 
     /**
@@ -283,7 +434,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public <U> U[] toArray(U[] memberArray) {
-        return this.members.toArray(memberArray);
+        return members().toList().toArray(memberArray);
     }
 
     /**
@@ -305,4 +456,16 @@ public class Group<T> implements Set<T> {
         return false;
     }
 
+    /**
+     * Hash code of this group, consistent with {@link #equals(Object)}.
+     *
+     * @pre {@code true}
+     * @post {@code \result == (\sum m; this.contains(m); m.hashCode())}
+     * @return this group's hash code
+     */
+    @Override
+    public int hashCode() {
+        return index.keySet().hashCode();
+    }
+
 }
@@ -0,0 +1,150 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GroupsRenderer} writes groups of students in some output format.
+ */
+public interface GroupsRenderer {
+
+    /**
+     * Size of the buffer of writers returned by {@link #writer(Path)} and
+     * {@link #writer(OutputStream)}.
+     */
+    int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Write groups of students to out.
+     *
+     * Students with a first name that is not unique in the class are shown with the
+     * initial of their last name as well.
+     *
+     * @pre {@code (\forall g; groups.contains(g); (\forall s; g.contains(s);
+     *      uniqueFirstName.containsKey(s.firstName())))}
+     * @param groups the groups to write
+     * @param uniqueFirstName for each first name, whether it is unique in the class
+     * @param out writer to write to; it is not flushed or closed
+     * @throws IOException when an I/O error occurs
+     */
+    void render(List<? extends Collection<Student>> groups, Map<String, Boolean> uniqueFirstName,
+            Writer out) throws IOException;
+
+    /**
+     * Write groups of students to a file, or to standard output.
+     *
+     * @pre {@code (\forall g; groups.contains(g); (\forall s; g.contains(s);
+     *      uniqueFirstName.containsKey(s.firstName())))}
+     * @param groups the groups to write
+     * @param uniqueFirstName for each first name, whether it is unique in the class
+     * @param file path of the file to write to, or null for standard output
+     * @throws IOException when an I/O error occurs
+     */
+    default void render(List<? extends Collection<Student>> groups,
+            Map<String, Boolean> uniqueFirstName, Path file) throws IOException {
+        RenderEvent event = RenderEvent.start();
+        Writer out = writer(file);
+        try {
+            render(groups, uniqueFirstName, out);
+        } finally {
+            if (file == null) {
+                out.flush(); // leave standard output open
+            } else {
+                out.close();
+            }
+        }
+        event.commit(this, groups);
+    }
+
+    /**
+     * Write the groups of a division to a file, or to standard output.
+     *
+     * @pre true
+     * @param result the division to write
+     * @param file path of the file to write to, or null for standard output
+     * @throws IOException when an I/O error occurs
+     */
+    default void render(DivisionResult result, Path file) throws IOException {
+        render(result.groups(), result.uniqueFirstName(), file);
+    }
+
+    /**
+     * Write the groups of a division to an output stream, encoded in UTF-8.
+     *
+     * @pre true
+     * @param result the division to write
+     * @param out stream to write to; it is flushed but not closed
+     * @throws IOException when an I/O error occurs
+     */
+    default void render(DivisionResult result, OutputStream out) throws IOException {
+        RenderEvent event = RenderEvent.start();
+        Writer writer = writer(out);
+        render(result.groups(), result.uniqueFirstName(), writer);
+        writer.flush();
+        event.commit(this, result.groups());
+    }
+
+    /**
+     * Media type of the output of this renderer.
+     *
+     * @pre true
+     * @return the media type, with charset UTF-8
+     */
+    default String contentType() {
+        return "text/plain; charset=utf-8";
+    }
+
+    /**
+     * Renderer for an output format.
+     *
+     * @pre true
+     * @param format name of the format: text, json or csv
+     * @return a renderer for format
+     * @throws IllegalArgumentException when format is unknown
+     */
+    static GroupsRenderer of(String format) {
+        return switch (format) {
+            case "text" -> new TextGroupsRenderer();
+            case "json" -> new JsonGroupsRenderer();
+            case "csv" -> new CsvGroupsRenderer();
+            default -> throw new IllegalArgumentException(
+                    "Unknown format '%s', use text, json or csv.".formatted(format));
+        };
+    }
+
+    /**
+     * Create a buffered writer to a file, or to standard output.
+     *
+     * @pre true
+     * @param file path of the file to write to, or null for standard output
+     * @return a writer with a large buffer; closing it closes standard output only when
+     *         file is null
+     * @throws IOException when the file cannot be opened
+     */
+    static Writer writer(Path file) throws IOException {
+        OutputStream out = file == null ? System.out : Files.newOutputStream(file);
+        Charset charset = file == null ? Charset.defaultCharset() : StandardCharsets.UTF_8;
+        return new BufferedWriter(new OutputStreamWriter(out, charset), BUFFER_SIZE);
+    }
+
+    /**
+     * Create a buffered writer to a stream, encoded in UTF-8.
+     *
+     * @pre true
+     * @param out stream to write to
+     * @return a writer with a large buffer; closing it closes out
+     */
+    static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+}
@@ -0,0 +1,391 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@code IncrementalDivision} of a class that is kept up to date as students join or
+ * leave the class.
+ *
+ * Starting from an existing division, every change puts joining students in the
+ * smallest groups and then restores group sizes of {@code groupSize +/- deviation} by
+ * moving as few students as possible: a group that became too small takes a student from
+ * a group that can spare one, and only if no group can spare one it is dissolved into
+ * groups with room. When all groups are full, joining students start a new group, topped
+ * up from groups that can spare students. The cost of a change is proportional to the
+ * number of students that join or leave times {@code groupSize + deviation}, and does
+ * not depend on the size of the class.
+ *
+ * Groups are identified by their index, which never changes. A dissolved group stays
+ * empty until a new group is needed. Every change emits a {@link DivisionEvent} with the
+ * number of students moved between groups.
+ */
+public class IncrementalDivision {
+
+    /**
+     * Group index of students that were not in the division.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Move of a student between groups.
+     *
+     * @param student the student that moved
+     * @param from    index of the group the student left, or {@link #NONE} if the student
+     *                joined the class
+     * @param to      index of the group the student was put in
+     */
+    public record Move(Student student, int from, int to) {
+    }
+
+    private final DivisionParameters parameters;
+    private final int min;
+    private final int max;
+    private final RandomGenerator random;
+    private final List<Group<Student>> groups;
+    private final Map<Student, Integer> groupOf;
+    // bySize.get(s) holds the indices of the groups with s students
+    private final List<Set<Integer>> bySize;
+
+    /*
+     * Representation invariant, between changes:
+     * - groupOf.get(s) == g <==> groups.get(g).contains(s)
+     * - (\forall g; groups.has(g); bySize.get(groups.get(g).size()).contains(g))
+     * - (\forall g; groups.has(g); groups.get(g).isEmpty()
+     *       || min <= groups.get(g).size() <= max)
+     */
+
+    /**
+     * Start from an existing division.
+     *
+     * @pre true
+     * @param division   the groups of the class, such as {@link DivisionResult#groups()}
+     * @param parameters group size and deviation
+     * @param random     generator used to choose the students that move
+     * @throws IllegalArgumentException when a group has too few or too many students,
+     *         or a student is in more than one group
+     */
+    public IncrementalDivision(List<? extends Collection<Student>> division,
+            DivisionParameters parameters, RandomGenerator random) {
+        this.parameters = parameters;
+        this.min = parameters.groupSize() - parameters.deviation();
+        this.max = parameters.groupSize() + parameters.deviation();
+        this.random = random;
+        this.groups = new ArrayList<>();
+        this.groupOf = new HashMap<>();
+        this.bySize = new ArrayList<>();
+        for (int size = 0; size <= max; size++) {
+            bySize.add(new LinkedHashSet<>());
+        }
+
+        for (Collection<Student> members : division) {
+            addGroup(members);
+        }
+    }
+
+    private void addGroup(Collection<Student> members) {
+        if (members.size() < min || members.size() > max) {
+            throw new IllegalArgumentException("Group %d has %d students, expected %d to %d."
+                    .formatted(groups.size() + 1, members.size(), min, max));
+        }
+        int group = newGroup();
+        for (Student student : members) {
+            if (groupOf.containsKey(student)) {
+                throw new IllegalArgumentException(
+                        "Student %s is in more than one group.".formatted(student.id()));
+            }
+            put(student, group);
+        }
+    }
+
+    /**
+     * Groups of this division.
+     *
+     * @pre true
+     * @return read-only views of the groups, by index; dissolved groups are empty
+     */
+    public List<Set<Student>> groups() {
+        List<Set<Student>> views = new ArrayList<>();
+        for (Group<Student> group : groups) {
+            views.add(Collections.unmodifiableSet(group));
+        }
+        return Collections.unmodifiableList(views);
+    }
+
+    /**
+     * Group of a student.
+     *
+     * @pre true
+     * @param student a student
+     * @return the index of the group of student, or {@link #NONE} if student is not in
+     *         this division
+     */
+    public int groupOf(Student student) {
+        return groupOf.getOrDefault(student, NONE);
+    }
+
+    /**
+     * Number of students in this division.
+     *
+     * @pre true
+     * @return the number of students in all groups together
+     */
+    public int size() {
+        return groupOf.size();
+    }
+
+    /**
+     * Apply a change to the class.
+     *
+     * @pre true
+     * @param joined students that join the class
+     * @param left   students that leave the class
+     * @return the moves of students that joined or changed groups, in order; students
+     *         that left are not included
+     * @throws IllegalArgumentException when a joining student is already in the class or
+     *         joins twice, a leaving student is not in the class or leaves twice, or the
+     *         changed class cannot be divided into groups; the division is unchanged then
+     * @throws RuntimeException when the change fails halfway, such as when random throws;
+     *         the change is rolled back, so the division is unchanged then as well
+     */
+    public List<Move> apply(Collection<Student> joined, Collection<Student> left) {
+        DivisionEvent event = DivisionEvent.start();
+        checkLeaving(left);
+        checkJoining(joined);
+        int size = groupOf.size() - left.size() + joined.size();
+        if (!DivisionPlan.isFeasible(size, parameters.groupSize(), parameters.deviation())) {
+            throw new IllegalArgumentException(
+                    "Unable to divide the class into groups with the specified parameters.");
+        }
+
+        int groupCount = groups.size();
+        Map<Student, Integer> leftFrom = new LinkedHashMap<>();
+        List<Move> moves = new ArrayList<>();
+        try {
+            change(joined, left, leftFrom, moves);
+        } catch (RuntimeException e) {
+            undo(moves, leftFrom, groupCount);
+            throw e;
+        }
+        event.commit(size, parameters.groupSize(), parameters.deviation(),
+                groups.size() - bySize.get(0).size(), DivisionEvent.REBALANCED,
+                (int) moves.stream().filter(move -> move.from() != NONE).count());
+        return moves;
+    }
+
+    // Make a change, recording the group every leaving student left and every move.
+    private void change(Collection<Student> joined, Collection<Student> left,
+            Map<Student, Integer> leftFrom, List<Move> moves) {
+        Set<Integer> tooSmall = leave(left, leftFrom);
+        Deque<Student> waiting = join(joined, moves);
+        while (!waiting.isEmpty()) {
+            startGroup(waiting, moves);
+        }
+        for (int group : tooSmall) {
+            repair(group, moves);
+        }
+    }
+
+    // Roll back a change that failed halfway: undo the moves in reverse order, return the
+    // leaving students to their groups, and drop the groups the change added.
+    private void undo(List<Move> moves, Map<Student, Integer> leftFrom, int groupCount) {
+        for (int i = moves.size() - 1; i >= 0; i--) {
+            Move move = moves.get(i);
+            take(move.student(), move.to());
+            if (move.from() != NONE) {
+                put(move.student(), move.from());
+            }
+        }
+        leftFrom.forEach(this::put);
+        while (groups.size() > groupCount) {
+            bySize.get(0).remove(groups.size() - 1);
+            groups.remove(groups.size() - 1);
+        }
+    }
+
+    /**
+     * Update the names of students, keeping them in their groups.
+     *
+     * @pre true
+     * @param renamed students with a new name and the ID of a student in the class
+     * @throws IllegalArgumentException when a student is not in the class; the
+     *         students before it have been renamed then
+     */
+    public void rename(Collection<Student> renamed) {
+        for (Student student : renamed) {
+            int group = groupOf(student);
+            if (group == NONE) {
+                throw new IllegalArgumentException(
+                        "Student %s is not in the class.".formatted(student.id()));
+            }
+            // Equal students are not replaced by add or put, so remove the old record first
+            groups.get(group).remove(student);
+            groups.get(group).add(student);
+            groupOf.remove(student);
+            groupOf.put(student, group);
+        }
+    }
+
+    private void checkLeaving(Collection<Student> left) {
+        Set<Student> leaving = new HashSet<>();
+        for (Student student : left) {
+            if (!leaving.add(student) || !groupOf.containsKey(student)) {
+                throw new IllegalArgumentException(
+                        "Student %s is not in the class.".formatted(student.id()));
+            }
+        }
+    }
+
+    private void checkJoining(Collection<Student> joined) {
+        Set<Student> joining = new HashSet<>();
+        for (Student student : joined) {
+            if (!joining.add(student) || groupOf.containsKey(student)) {
+                throw new IllegalArgumentException(
+                        "Student %s is already in the class.".formatted(student.id()));
+            }
+        }
+    }
+
+    // Remove leaving students, recording the group each left, and return those groups.
+    private Set<Integer> leave(Collection<Student> left, Map<Student, Integer> leftFrom) {
+        Set<Integer> groupsLeft = new LinkedHashSet<>();
+        for (Student student : left) {
+            int group = groupOf.get(student);
+            take(student, group);
+            leftFrom.put(student, group);
+            groupsLeft.add(group);
+        }
+        return groupsLeft;
+    }
+
+    // Put joining students in the smallest groups, returning those for whom there is no room.
+    private Deque<Student> join(Collection<Student> joined, List<Move> moves) {
+        Deque<Student> waiting = new ArrayDeque<>();
+        for (Student student : joined) {
+            int group = smallestWithRoom(NONE);
+            if (group == NONE) {
+                waiting.add(student);
+            } else {
+                put(student, group);
+                moves.add(new Move(student, NONE, group));
+            }
+        }
+        return waiting;
+    }
+
+    // Start a group with waiting students, topped up from groups that can spare some.
+    private void startGroup(Deque<Student> waiting, List<Move> moves) {
+        Set<Integer> empty = bySize.get(0);
+        int group = empty.isEmpty() ? newGroup() : empty.iterator().next();
+        while (!waiting.isEmpty() && groups.get(group).size() < max) {
+            Student student = waiting.remove();
+            put(student, group);
+            moves.add(new Move(student, NONE, group));
+        }
+        repair(group, moves);
+    }
+
+    // Give a group that is too small enough students, or dissolve it.
+    private void repair(int group, List<Move> moves) {
+        while (!groups.get(group).isEmpty() && groups.get(group).size() < min) {
+            int donor = largestAboveMin(group);
+            if (donor == NONE) {
+                dissolve(group, moves);
+            } else {
+                move(groups.get(donor).pick(), donor, group, moves);
+            }
+        }
+    }
+
+    // Move the students of a group to the smallest other groups, if they have room for all.
+    private void dissolve(int group, List<Move> moves) {
+        if (room(group) < groups.get(group).size()) {
+            throw new IllegalStateException("No room to dissolve group " + group + ".");
+        }
+        while (!groups.get(group).isEmpty()) {
+            move(groups.get(group).pick(), group, smallestWithRoom(group), moves);
+        }
+    }
+
+    // Number of students the non-empty groups other than except can take.
+    private int room(int except) {
+        int room = 0;
+        for (int size = 1; size < max; size++) {
+            Set<Integer> sized = bySize.get(size);
+            room += (sized.size() - (sized.contains(except) ? 1 : 0)) * (max - size);
+        }
+        return room;
+    }
+
+    private void move(Student student, int from, int to, List<Move> moves) {
+        take(student, from);
+        put(student, to);
+        moves.add(new Move(student, from, to));
+    }
+
+    private void take(Student student, int group) {
+        resize(group, -1);
+        groups.get(group).remove(student);
+        groupOf.remove(student);
+    }
+
+    private void put(Student student, int group) {
+        resize(group, 1);
+        groups.get(group).add(student);
+        groupOf.put(student, group);
+    }
+
+    private int newGroup() {
+        groups.add(new Group<>(random));
+        bySize.get(0).add(groups.size() - 1);
+        return groups.size() - 1;
+    }
+
+    // Update bySize for a change of the size of group by delta, before the change.
+    private void resize(int group, int delta) {
+        int size = groups.get(group).size();
+        bySize.get(size).remove(group);
+        bySize.get(size + delta).add(group);
+    }
+
+    // The non-empty group other than except with the fewest students, if below max.
+    private int smallestWithRoom(int except) {
+        for (int size = 1; size < max; size++) {
+            int group = other(bySize.get(size), except);
+            if (group != NONE) {
+                return group;
+            }
+        }
+        return NONE;
+    }
+
+    // The group other than except with the most students, if above min.
+    private int largestAboveMin(int except) {
+        for (int size = max; size > min; size--) {
+            int group = other(bySize.get(size), except);
+            if (group != NONE) {
+                return group;
+            }
+        }
+        return NONE;
+    }
+
+    private static int other(Set<Integer> groups, int except) {
+        for (int group : groups) {
+            if (group != except) {
+                return group;
+            }
+        }
+        return NONE;
+    }
+
+}
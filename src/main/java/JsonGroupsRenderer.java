@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write groups of students as JSON.
+ *
+ * <pre>
+ * {"groups":[[{"name":"Jan J","firstName":"Jan","lastName":"Jansens","id":"2"},...],...]}
+ * </pre>
+ *
+ * The name of a student is their first name, followed by the initial of their last name
+ * when their first name is not unique in the class, as in {@link TextGroupsRenderer}.
+ */
+public class JsonGroupsRenderer implements GroupsRenderer {
+
+    @Override
+    public void render(List<? extends Collection<Student>> groups,
+            Map<String, Boolean> uniqueFirstName, Writer out) throws IOException {
+        StringBuilder json = new StringBuilder();
+        out.append("{\"groups\":[");
+
+        String groupSeparator = "";
+        for (Collection<Student> group : groups) {
+            json.setLength(0);
+            json.append(groupSeparator).append('[');
+            String separator = "";
+            for (Student student : group) {
+                json.append(separator);
+                student(json, student, uniqueFirstName.get(student.firstName()));
+                separator = ",";
+            }
+            json.append(']');
+            out.append(json);
+            groupSeparator = ",";
+        }
+
+        out.append("]}");
+    }
+
+    private static void student(StringBuilder json, Student student, boolean unique) {
+        json.append("{\"name\":");
+        string(json, unique ? student.firstName() : student.firstName() + " "
+                + student.sortInitial());
+        json.append(",\"firstName\":");
+        string(json, student.firstName());
+        json.append(",\"lastName\":");
+        string(json, student.lastName());
+        json.append(",\"id\":");
+        string(json, student.id());
+        json.append('}');
+    }
+
+    /**
+     * Append a string to json as a JSON string literal.
+     *
+     * @pre true
+     * @param json builder to append to
+     * @param text string to append
+     */
+    static void string(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < ' ') {
+                json.append("\\u%04x".formatted((int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public String contentType() {
+        return "application/json; charset=utf-8";
+    }
+
+}
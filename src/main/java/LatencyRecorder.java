@@ -0,0 +1,68 @@
+import java.util.Arrays;
+
+/**
+ * {@code LatencyRecorder} of the latencies of recent requests.
+ *
+ * The recorder keeps the latest {@code capacity} latencies in a ring buffer, so that
+ * percentiles reflect recent behaviour and memory use is fixed. It is safe to use from
+ * multiple threads.
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private long count;
+
+    /**
+     * Create a recorder.
+     *
+     * @pre {@code capacity > 0}
+     * @param capacity number of latest latencies to keep
+     */
+    public LatencyRecorder(int capacity) {
+        samples = new long[capacity];
+    }
+
+    /**
+     * Record the latency of a request.
+     *
+     * @pre {@code nanos >= 0}
+     * @param nanos latency in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        samples[(int) (count % samples.length)] = nanos;
+        count++;
+    }
+
+    /**
+     * Number of requests recorded.
+     *
+     * @pre true
+     * @return the number of latencies recorded since this recorder was created
+     */
+    public synchronized long count() {
+        return count;
+    }
+
+    /**
+     * Percentiles of the kept latencies, by the nearest rank method.
+     *
+     * @pre {@code (\forall p; percentiles.has(p); 0 < p <= 100)}
+     * @param percentiles the percentiles to compute
+     * @return for each percentile, the latency in nanoseconds, or 0 if nothing was recorded
+     */
+    public long[] percentiles(double... percentiles) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        }
+        Arrays.sort(sorted);
+
+        long[] values = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length && sorted.length > 0; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100 * sorted.length);
+            values[i] = sorted[Math.max(0, rank - 1)];
+        }
+        return values;
+    }
+
+}
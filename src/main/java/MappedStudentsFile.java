@@ -0,0 +1,300 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * Read CSV files with student information in the standard three-column format.
+ *
+ * A file in the standard format starts with the header {@code first name,last name,ID}.
+ * This reader memory-maps such a file and scans its bytes for delimiters and line ends
+ * directly, creating Strings only for the fields of each student. Rows containing quotes
+ * are handed to commons-csv for full RFC 4180 handling.
+ */
+public class MappedStudentsFile {
+
+    private static final String HEADER = "first name,last name,ID";
+    private static final long WINDOW = 1L << 30;
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final Consumer<Student> sink;
+    private final long window;
+    private final int[] commas = new int[3];
+    private byte[] scratch = new byte[64];
+    private ByteBuffer buffer;
+    private long bufferStart;
+    private boolean endOfFile;
+    private int fields;
+    private boolean quoted;
+
+    /**
+     * Create a reader that passes every student it reads to sink.
+     *
+     * @pre {@code window > 0}
+     * @param sink   consumer of the students read
+     * @param window maximum number of bytes mapped at once
+     */
+    MappedStudentsFile(Consumer<Student> sink, long window) {
+        this.sink = sink;
+        this.window = window;
+    }
+
+    /**
+     * Create a reader that passes every student it reads to sink.
+     *
+     * @pre true
+     * @param sink consumer of the students read
+     */
+    MappedStudentsFile(Consumer<Student> sink) {
+        this(sink, WINDOW);
+    }
+
+    /**
+     * Determine if file starts with the standard header.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return true if file starts with the standard header, false otherwise
+     * @throws IOException when an I/O error occurs
+     */
+    public static boolean hasStandardHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return dataStart(channel) >= 0;
+        }
+    }
+
+    /**
+     * Create a group of students from a CSV file in the standard format.
+     *
+     * @pre {@code hasStandardHeader(file)}
+     * @param file path to file with CSV data
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when file is not in the standard format
+     */
+    public static Group<Student> fromCSV(Path file) throws IOException {
+        Group<Student> students = new Group<>();
+        read(file, students::add);
+        return students;
+    }
+
+    /**
+     * Read the students in a CSV file in the standard format, in file order.
+     *
+     * @pre {@code hasStandardHeader(file)}
+     * @param file path to file with CSV data
+     * @param sink consumer of the students read
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when file is not in the standard format
+     */
+    static void read(Path file, Consumer<Student> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long start = dataStart(channel);
+            if (start < 0) {
+                throw new IllegalArgumentException(
+                        "'%s' does not start with the standard header.".formatted(file));
+            }
+            new MappedStudentsFile(sink).parse(channel, start, channel.size());
+        }
+    }
+
+    /**
+     * Offset of the first row after the standard header in channel.
+     *
+     * @pre true
+     * @param channel channel to read the header from
+     * @return offset of the first row, or -1 if channel does not start with the standard
+     *         header
+     * @throws IOException when an I/O error occurs
+     */
+    static long dataStart(FileChannel channel) throws IOException {
+        String line = head(channel, HEADER.length() + 2);
+        if (line.startsWith(HEADER + "\r\n")) {
+            return HEADER.length() + 2;
+        }
+        if (line.startsWith(HEADER + "\n")) {
+            return HEADER.length() + 1;
+        }
+        return line.equals(HEADER) ? HEADER.length() : -1;
+    }
+
+    // The first length bytes of channel, or fewer if channel is shorter.
+    private static String head(FileChannel channel, int length) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(length);
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+            // keep reading until the buffer is full or the channel is exhausted
+        }
+        return new String(head.array(), 0, head.position(), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Parse all rows starting at an offset in {@code [start, end)}.
+     *
+     * A row that starts before end but extends beyond it is parsed completely.
+     *
+     * @pre {@code start} is the offset of the start of a row
+     * @param channel channel to read from
+     * @param start   offset of the first row to parse
+     * @param end     offset after which no more rows are started
+     * @return the offset after the last row parsed, which is end when end is the start
+     *         of a row
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a row is invalid
+     */
+    long parse(FileChannel channel, long start, long end) throws IOException {
+        long size = channel.size();
+        long position = start;
+
+        while (position < end) {
+            long mapEnd = Math.min(size, position + window);
+            buffer = channel.map(MapMode.READ_ONLY, position, mapEnd - position);
+            bufferStart = position;
+            endOfFile = mapEnd == size;
+
+            int consumed = scan((int) (Math.min(end, mapEnd) - position));
+            if (consumed == 0) {
+                throw new IllegalArgumentException(
+                        "Row at byte %d is longer than %d bytes.".formatted(position, window));
+            }
+            position += consumed;
+        }
+        return position;
+    }
+
+    // Parse the rows in buffer starting before limit, and return the offset after the
+    // last complete row.
+    private int scan(int limit) throws IOException {
+        int position = 0;
+        while (position < limit) {
+            int next = row(position);
+            if (next < 0) {
+                break;
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    // Parse the row starting at from, and return the offset after it, or -1 when the
+    // row does not end in this buffer.
+    private int row(int from) throws IOException {
+        int end = scanLine(from);
+        if (quoted) {
+            return quotedRow(from);
+        }
+        if (end == buffer.limit() && !endOfFile) {
+            return -1;
+        }
+        addRow(from, end);
+        return Math.min(end + 1, buffer.limit());
+    }
+
+    // Find the end of the line starting at from, recording the positions of the first
+    // three commas. Stops early at the first quote.
+    private int scanLine(int from) {
+        fields = 1;
+        int i = from;
+        while (i < buffer.limit() && buffer.get(i) != LF && buffer.get(i) != QUOTE) {
+            if (buffer.get(i) == COMMA) {
+                addComma(i);
+            }
+            i++;
+        }
+        quoted = i < buffer.limit() && buffer.get(i) == QUOTE;
+        return i;
+    }
+
+    private void addComma(int i) {
+        if (fields <= commas.length) {
+            commas[fields - 1] = i;
+            fields++;
+        }
+    }
+
+    private void addRow(int from, int end) {
+        int stop = end > from && buffer.get(end - 1) == CR ? end - 1 : end;
+        if (stop == from) {
+            return; // empty lines are ignored, as commons-csv does
+        }
+        checkFields(bufferStart + from, fields);
+
+        int idEnd = fields > 3 ? commas[2] : stop;
+        sink.accept(new Student(
+                string(from, commas[0]),
+                string(commas[0] + 1, commas[1]),
+                string(commas[1] + 1, idEnd)
+        ));
+    }
+
+    private static void checkFields(long offset, int fields) {
+        if (fields < 3) {
+            throw new IllegalArgumentException(
+                    "Row at byte %d has %d fields, expected 3.".formatted(offset, fields));
+        }
+    }
+
+    private String string(int from, int to) {
+        int length = to - from;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, 2 * scratch.length)];
+        }
+        buffer.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int quotedRow(int from) throws IOException {
+        int end = quotedLineEnd(from);
+        if (end == buffer.limit() && !endOfFile) {
+            return -1;
+        }
+        parseRow(bufferStart + from, string(from, end));
+        return Math.min(end + 1, buffer.limit());
+    }
+
+    // Find the end of the row starting at from, skipping line ends in quoted fields.
+    private int quotedLineEnd(int from) {
+        int i = from;
+        boolean fieldStart = true;
+        while (i < buffer.limit() && buffer.get(i) != LF) {
+            byte b = buffer.get(i);
+            i = fieldStart && b == QUOTE ? skipQuoted(i + 1) : i + 1;
+            fieldStart = b == COMMA;
+        }
+        return Math.min(i, buffer.limit());
+    }
+
+    // Return the offset after the quote that closes the quoted field starting at i.
+    private int skipQuoted(int i) {
+        while (i < buffer.limit()) {
+            if (buffer.get(i) != QUOTE) {
+                i++;
+            } else if (i + 1 < buffer.limit() && buffer.get(i + 1) == QUOTE) {
+                i += 2;
+            } else {
+                return i + 1;
+            }
+        }
+        return i;
+    }
+
+    private void parseRow(long offset, String row) throws IOException {
+        try (CSVParser parser = CSVParser.parse(row, CSVFormat.DEFAULT)) {
+            for (CSVRecord record : parser) {
+                checkFields(offset, record.size());
+                sink.accept(new Student(record.get(0), record.get(1), record.get(2)));
+            }
+        }
+    }
+
+}
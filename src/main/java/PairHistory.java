@@ -0,0 +1,115 @@
+/**
+ * {@code PairHistory} of how often every pair of students in a class shared a group.
+ *
+ * The counts are stored in a triangular matrix of one byte per pair, without the
+ * diagonal: the count of rows {@code a < b} is at index {@code b * (b - 1) / 2 + a}. A
+ * class of n students takes {@code n * (n - 1) / 2} bytes, about 4.5 MB for 3,000
+ * students, where a map from pairs to boxed counts would take well over ten times as
+ * much. Counts saturate at 255.
+ */
+public final class PairHistory {
+
+    private static final int MAX_COUNT = 0xFF;
+
+    private final int classSize;
+    private final byte[] counts;
+
+    /**
+     * Create an empty history.
+     *
+     * @pre {@code classSize >= 0}
+     * @param classSize number of students in the class
+     * @throws IllegalArgumentException when the class has too many pairs to store
+     */
+    public PairHistory(int classSize) {
+        long pairs = (long) classSize * (classSize - 1) / 2;
+        if (pairs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                    "Unable to track the pairs of a class of %d students.".formatted(classSize));
+        }
+        this.classSize = classSize;
+        this.counts = new byte[(int) Math.max(0, pairs)];
+    }
+
+    /**
+     * Number of students in the class.
+     *
+     * @pre true
+     * @return the number of students
+     */
+    public int classSize() {
+        return classSize;
+    }
+
+    /**
+     * How often two students shared a group.
+     *
+     * @pre {@code 0 <= a, b < classSize() && a != b}
+     * @param a row of a student
+     * @param b row of another student
+     * @return the number of groups a and b shared, at most 255
+     */
+    public int count(int a, int b) {
+        return counts[index(a, b)] & MAX_COUNT;
+    }
+
+    /**
+     * How often a student shared a group with the students in a group.
+     *
+     * @pre {@code 0 <= row < classSize()}, and all rows in group are valid
+     * @param row   row of a student
+     * @param group rows of the students in a group
+     * @param skip  row in group to skip, in addition to row itself
+     * @return the sum of the counts of row with every other row in group
+     */
+    public int count(int row, int[] group, int skip) {
+        int sum = 0;
+        for (int other : group) {
+            if (other != row && other != skip) {
+                sum += count(row, other);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * How often the pairs in a group shared a group before.
+     *
+     * @pre all rows in group are valid and different
+     * @param group rows of the students in a group
+     * @return the sum of the counts of all pairs in group
+     */
+    public long repeats(int[] group) {
+        long sum = 0;
+        for (int i = 0; i < group.length; i++) {
+            for (int j = i + 1; j < group.length; j++) {
+                sum += count(group[i], group[j]);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Record that the students in a group shared a group.
+     *
+     * @pre all rows in group are valid and different
+     * @param group rows of the students in a group
+     */
+    public void add(int[] group) {
+        for (int i = 0; i < group.length; i++) {
+            for (int j = i + 1; j < group.length; j++) {
+                int index = index(group[i], group[j]);
+                if ((counts[index] & MAX_COUNT) < MAX_COUNT) {
+                    counts[index]++;
+                }
+            }
+        }
+    }
+
+    private static int index(int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        return (int) ((long) high * (high - 1) / 2) + low;
+    }
+
+}
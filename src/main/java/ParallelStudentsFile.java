@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Read CSV files with student information in the standard format on multiple threads.
+ *
+ * The file is split into byte ranges that start at row boundaries. A newline is taken to
+ * be a row boundary when it is preceded by an even number of quotes, which holds for
+ * files quoted according to RFC 4180. The ranges are parsed by {@link MappedStudentsFile}
+ * on a fork/join pool, and the results are added to one group in file order. Hence,
+ * duplicate IDs are handled exactly as when reading the file on a single thread: the
+ * first row with an ID wins.
+ *
+ * A quote inside an unquoted field, such as {@code O"Brien}, is read as a plain
+ * character but still counts towards the parity, so a later range may start inside a
+ * row. Therefore every boundary is checked: the range before it, which starts at a
+ * checked boundary, must end exactly at it. When a check fails, the file is read again
+ * on a single thread.
+ */
+public class ParallelStudentsFile {
+
+    private static final long MIN_CHUNK = 1L << 20;
+    private static final long WINDOW = 1L << 30;
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+
+    /**
+     * Create a group of students from a CSV file in the standard format.
+     *
+     * @pre {@code MappedStudentsFile.hasStandardHeader(file) && parallelism > 0}
+     * @param file        path to file with CSV data
+     * @param parallelism number of threads to parse with
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when file is not in the standard format
+     */
+    public static Group<Student> fromCSV(Path file, int parallelism) throws IOException {
+        return fromCSV(file, parallelism, MIN_CHUNK);
+    }
+
+    /**
+     * Create a group of students from a CSV file in the standard format.
+     *
+     * @pre {@code MappedStudentsFile.hasStandardHeader(file) && parallelism > 0
+     *      && minChunk > 0}
+     * @param file        path to file with CSV data
+     * @param parallelism number of threads to parse with
+     * @param minChunk    minimum number of bytes parsed by one thread
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when file is not in the standard format
+     */
+    static Group<Student> fromCSV(Path file, int parallelism, long minChunk)
+            throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long start = MappedStudentsFile.dataStart(channel);
+            if (start < 0) {
+                throw new IllegalArgumentException(
+                        "'%s' does not start with the standard header.".formatted(file));
+            }
+            long length = channel.size() - start;
+            int chunks = (int) Math.max(1, Math.min(parallelism, length / minChunk));
+
+            long[] bounds = boundaries(pool, channel, start, chunks);
+            List<List<Student>> parts = new ArrayList<>();
+            List<Future<Long>> ends = new ArrayList<>();
+            for (int i = 0; i < chunks; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                List<Student> part = new ArrayList<>();
+                parts.add(part);
+                ends.add(pool.submit(() -> parse(channel, from, to, part)));
+            }
+
+            Group<Student> students = join(parts, ends, bounds);
+            return students != null ? students : MappedStudentsFile.fromCSV(file);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Split [start, channel.size()) into chunks ranges that start at row boundaries.
+    private static long[] boundaries(ForkJoinPool pool, FileChannel channel, long start,
+            int chunks) throws IOException {
+        long size = channel.size();
+        long[] bounds = new long[chunks + 1];
+        for (int i = 0; i <= chunks; i++) {
+            bounds[i] = start + (size - start) * i / chunks;
+        }
+
+        List<Future<Long>> quotes = new ArrayList<>();
+        for (int i = 1; i < chunks; i++) {
+            long from = bounds[i - 1];
+            long to = bounds[i];
+            quotes.add(pool.submit(() -> countQuotes(channel, from, to)));
+        }
+
+        long quotesBefore = 0;
+        for (int i = 1; i < chunks; i++) {
+            quotesBefore += result(quotes.get(i - 1));
+            long rowStart = nextRowStart(channel, bounds[i], quotesBefore % 2 == 1);
+            bounds[i] = Math.max(bounds[i - 1], rowStart);
+        }
+        return bounds;
+    }
+
+    private static long countQuotes(FileChannel channel, long from, long to) {
+        long count = 0;
+        try {
+            for (long position = from; position < to; position += WINDOW) {
+                ByteBuffer buffer = map(channel, position, Math.min(to, position + WINDOW));
+                while (buffer.hasRemaining()) {
+                    count += buffer.get() == QUOTE ? 1 : 0;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    // Offset after the first newline at or after from that is outside quotes.
+    private static long nextRowStart(FileChannel channel, long from, boolean inQuotes)
+            throws IOException {
+        long size = channel.size();
+        boolean quoted = inQuotes;
+        for (long position = from; position < size; position += WINDOW) {
+            ByteBuffer buffer = map(channel, position, Math.min(size, position + WINDOW));
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                quoted ^= b == QUOTE;
+                if (b == LF && !quoted) {
+                    return position + buffer.position();
+                }
+            }
+        }
+        return size;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+        return channel.map(MapMode.READ_ONLY, from, to - from);
+    }
+
+    // Parse the rows starting in [from, to) into students, and return the offset after
+    // the last of them.
+    private static long parse(FileChannel channel, long from, long to,
+            List<Student> students) {
+        try {
+            return new MappedStudentsFile(students::add).parse(channel, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The students of the parts in file order, or null when a part does not end at the
+    // next bound. Part i started at a row start if part i - 1 ended at bounds[i], so the
+    // errors of a part are only reported when all earlier parts ended at their bounds.
+    private static Group<Student> join(List<List<Student>> parts, List<Future<Long>> ends,
+            long[] bounds) throws IOException {
+        Group<Student> students = new Group<>();
+        for (int i = 0; i < parts.size(); i++) {
+            if (result(ends.get(i)) != bounds[i + 1]) {
+                // A stray quote moved bounds[i + 1] into a row
+                return null;
+            }
+            students.addAll(parts.get(i));
+        }
+        return students;
+    }
+
+    // Wait for the result of a task, rethrowing the exception it failed with.
+    private static <T> T result(Future<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading students file.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            // The tasks do not throw checked exceptions, so anything else is an error
+            throw (Error) e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@code PhaseStats} of a run: the wall time, allocated bytes and item count of each
+ * phase, such as reading, validating, dividing and printing a class.
+ *
+ * Phases are timed with {@link #start(String)} in a try-with-resources statement:
+ *
+ * <pre>
+ * try (PhaseStats.Timer timer = stats.start("parse")) {
+ *     klas = StudentsFile.fromCSV(file);
+ *     timer.count(klas.size());
+ * }
+ * </pre>
+ *
+ * Allocated bytes are those allocated by the thread that started the phase, so work
+ * handed to other threads is timed but its allocations are not counted. They are
+ * {@code -1} when the JVM does not measure allocations. The phases are available as
+ * records, as JSON and as a printed summary. It is safe to use from multiple threads.
+ */
+public class PhaseStats {
+
+    /**
+     * Statistics of one phase.
+     *
+     * @param name           name of the phase
+     * @param nanos          wall time of the phase in nanoseconds
+     * @param allocatedBytes bytes allocated by the thread of the phase, or -1 if unknown
+     * @param count          number of items handled, such as students or groups
+     */
+    public record Phase(String name, long nanos, long allocatedBytes, long count) {
+    }
+
+    /**
+     * Work done in a phase.
+     *
+     * @param <T> type of the result of the work
+     * @param <E> type of exception thrown by the work
+     */
+    @FunctionalInterface
+    public interface Task<T, E extends Exception> {
+
+        /**
+         * Do the work.
+         *
+         * @pre true
+         * @return the result of the work
+         * @throws E when the work fails
+         */
+        T run() throws E;
+    }
+
+    /**
+     * Timer of a running phase; closing it records the phase.
+     */
+    public final class Timer implements AutoCloseable {
+
+        private final String name;
+        private final long start;
+        private final long allocatedStart;
+        private long count;
+
+        private Timer(String name) {
+            this.name = name;
+            this.allocatedStart = allocatedBytes();
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * Set the number of items handled by this phase.
+         *
+         * @pre {@code count >= 0}
+         * @param count number of items, such as students or groups
+         */
+        public void count(long count) {
+            this.count = count;
+        }
+
+        /**
+         * Record this phase, also when it ended with an exception.
+         */
+        @Override
+        public void close() {
+            long nanos = System.nanoTime() - start;
+            long allocated = allocatedStart < 0 ? -1 : allocatedBytes() - allocatedStart;
+            add(new Phase(name, nanos, allocated, count));
+        }
+    }
+
+    private final List<Phase> phases = new ArrayList<>();
+
+    /**
+     * Start timing a phase on the current thread.
+     *
+     * @pre true
+     * @param name name of the phase
+     * @return the timer of the phase, to be closed when the phase ends
+     */
+    public Timer start(String name) {
+        return new Timer(name);
+    }
+
+    /**
+     * Time a phase on the current thread.
+     *
+     * @pre true
+     * @param <T>   type of the result of the phase
+     * @param <E>   type of exception thrown by the phase
+     * @param name  name of the phase
+     * @param task  the work of the phase
+     * @param count the number of items handled, given the result of the phase
+     * @return the result of task
+     * @throws E when task throws it; the phase is recorded with count 0 then
+     */
+    public <T, E extends Exception> T time(String name, Task<T, E> task,
+            ToLongFunction<? super T> count) throws E {
+        try (Timer timer = start(name)) {
+            T result = task.run();
+            timer.count(count.applyAsLong(result));
+            return result;
+        }
+    }
+
+    private synchronized void add(Phase phase) {
+        phases.add(phase);
+    }
+
+    /**
+     * Phases recorded so far.
+     *
+     * @pre true
+     * @return the phases, in the order they ended
+     */
+    public synchronized List<Phase> phases() {
+        return List.copyOf(phases);
+    }
+
+    /**
+     * The recorded phases as JSON.
+     *
+     * <pre>
+     * {"phases":[{"name":"parse","nanos":1200,"allocatedBytes":4096,"count":30},...]}
+     * </pre>
+     *
+     * @pre true
+     * @return a JSON object with the phases, in the order they ended
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"phases\":[");
+        String separator = "";
+        for (Phase phase : phases()) {
+            json.append(separator).append("{\"name\":");
+            JsonGroupsRenderer.string(json, phase.name());
+            json.append(",\"nanos\":").append(phase.nanos())
+                    .append(",\"allocatedBytes\":").append(phase.allocatedBytes())
+                    .append(",\"count\":").append(phase.count())
+                    .append('}');
+            separator = ",";
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Print a summary of the recorded phases, one line per phase.
+     *
+     * @pre true
+     * @param out stream to print to
+     */
+    public void print(PrintStream out) {
+        out.printf("%-10s %12s %15s %10s%n", "phase", "time (ms)", "allocated (KiB)", "count");
+        for (Phase phase : phases()) {
+            out.printf("%-10s %12.3f %15s %10d%n", phase.name(), phase.nanos() / 1e6,
+                    phase.allocatedBytes() < 0 ? "-" : phase.allocatedBytes() / 1024,
+                    phase.count());
+        }
+    }
+
+    // Bytes allocated by the current thread so far, or -1 if the JVM does not measure them.
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+}
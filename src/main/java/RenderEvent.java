@@ -0,0 +1,68 @@
+import java.util.Collection;
+import java.util.List;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@code RenderEvent} is a Java Flight Recorder event for writing groups of students.
+ *
+ * Like all JFR events, it is cheap to create and nothing is recorded when recording is
+ * off; its fields are only filled in when the event will be committed.
+ */
+@Name(RenderEvent.NAME)
+@Label("Render")
+@Category("Classdivider")
+@Description("Writing groups of students")
+@StackTrace(false)
+final class RenderEvent extends Event {
+
+    /**
+     * Name of this event in recordings.
+     */
+    static final String NAME = "classdivider.Render";
+
+    @Label("Renderer")
+    private String renderer;
+
+    @Label("Groups")
+    private int groups;
+
+    @Label("Students")
+    private int students;
+
+    /**
+     * Begin timing writing groups.
+     *
+     * @pre true
+     * @return the event, begun
+     */
+    static RenderEvent start() {
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End this event and commit it if it is enabled and exceeds its threshold.
+     *
+     * @pre {@link #begin()} has been called
+     * @param renderer the renderer that wrote the groups
+     * @param groups the groups written
+     */
+    void commit(GroupsRenderer renderer, List<? extends Collection<Student>> groups) {
+        end();
+        if (shouldCommit()) {
+            this.renderer = renderer.getClass().getSimpleName();
+            this.groups = groups.size();
+            for (Collection<Student> group : groups) {
+                this.students += group.size();
+            }
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * {@code Roster} of students indexed by row.
+ *
+ * Every student is identified by its row, {@code 0 <= row < size()}, and no two rows
+ * hold a student with the same ID. Implementations store students in a compact form and
+ * only create {@link Student} records on request by {@link #get(int)}.
+ */
+public interface Roster {
+
+    /**
+     * Roster's size.
+     *
+     * @pre {@code true}
+     * @return the number of students in this roster
+     */
+    int size();
+
+    /**
+     * Determine if this roster is empty or not.
+     *
+     * @pre {@code true}
+     * @post {@code \result == (size() == 0)}
+     * @return true if this roster is empty, false otherwise.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * ID of the student in row.
+     *
+     * @pre {@code 0 <= row < size()}
+     * @param row row of the student
+     * @return the student number of the student in row
+     */
+    long id(int row);
+
+    /**
+     * First name of the student in row.
+     *
+     * @pre {@code 0 <= row < size()}
+     * @param row row of the student
+     * @return the first name of the student in row
+     */
+    String firstName(int row);
+
+    /**
+     * Last name of the student in row.
+     *
+     * @pre {@code 0 <= row < size()}
+     * @param row row of the student
+     * @return the last name of the student in row
+     */
+    String lastName(int row);
+
+    /**
+     * Determine if no other student in this roster has the same first name as the
+     * student in row.
+     *
+     * @pre {@code 0 <= row < size()}
+     * @param row row of the student
+     * @return true if the first name of the student in row is unique, false otherwise
+     */
+    boolean hasUniqueFirstName(int row);
+
+    /**
+     * Student in row.
+     *
+     * @pre {@code 0 <= row < size()}
+     * @param row row of the student
+     * @return a new student record with the data in row
+     */
+    default Student get(int row) {
+        return new Student(firstName(row), lastName(row), Long.toString(id(row)));
+    }
+
+}
@@ -0,0 +1,136 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * {@code RosterCache} of parsed students files.
+ *
+ * Classes are keyed by the absolute path of their students file, and remember the last
+ * modified time and size the file had before it was read. A lookup compares them with
+ * the file on disk, so a file that changed is read again without the cache being told;
+ * only a change that keeps both the modified time and the size is missed. When the
+ * total number of cached students exceeds the capacity, the least recently used classes
+ * are evicted. A cache is safe to use from multiple threads. Two threads missing the
+ * same file at once may both read it.
+ */
+public class RosterCache {
+
+    /**
+     * Default maximum total number of cached students.
+     */
+    public static final long DEFAULT_STUDENTS = 1_000_000;
+
+    /**
+     * Counters of a cache.
+     *
+     * @param hits      number of lookups answered from the cache
+     * @param misses    number of lookups that read the file
+     * @param evictions number of classes evicted
+     * @param entries   number of classes in the cache
+     * @param students  total number of students in the cache
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long students) {
+    }
+
+    // A class with the modified time and size of its file before it was read
+    private record Entry(FileTime modified, long size, Group<Student> students) {
+    }
+
+    private final long capacity;
+    private final LinkedHashMap<Path, Entry> entries;
+    private long students;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /*
+     * Representation: entries in least recently used first order, and
+     * students == (\sum e; entries.containsValue(e); e.students().size()) <= capacity.
+     * All fields are guarded by this.
+     */
+
+    /**
+     * Create a cache.
+     *
+     * @pre {@code capacity >= 0}
+     * @param capacity maximum total number of students in the cached classes
+     */
+    public RosterCache(long capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Look up the class in a students file, reading it on a miss or when it changed.
+     *
+     * See {@link StudentsFile#fromCSV(Path, int)}.
+     *
+     * @pre {@code parallelism > 0}
+     * @param file        path to file with CSV data
+     * @param parallelism number of threads to parse with on a miss
+     * @return the students in file; the group is shared and must not be modified
+     * @throws IOException when an I/O error occurs; nothing is cached then
+     */
+    public Group<Student> get(Path file, int parallelism) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.modified().equals(attributes.lastModifiedTime())
+                    && entry.size() == attributes.size()) {
+                hits++;
+                return entry.students();
+            }
+            misses++;
+        }
+
+        // Attributes taken before reading make a change during reading show up next time
+        Group<Student> klas = StudentsFile.fromCSV(key, parallelism);
+        put(key, new Entry(attributes.lastModifiedTime(), attributes.size(), klas));
+        return klas;
+    }
+
+    private synchronized void put(Path key, Entry entry) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            students -= old.students().size();
+        }
+        if (entry.students().size() > capacity) {
+            return;
+        }
+        entries.put(key, entry);
+        students += entry.students().size();
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (students > capacity) {
+            students -= eldest.next().students().size();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Remove all classes from this cache; the counters are kept.
+     *
+     * @pre true
+     */
+    public synchronized void clear() {
+        entries.clear();
+        students = 0;
+    }
+
+    /**
+     * Counters of this cache.
+     *
+     * @pre true
+     * @return the current counters
+     */
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size(), students);
+    }
+
+}
@@ -0,0 +1,169 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@code RosterDelta} between an old and a new version of a class.
+ *
+ * Students are matched by ID: students with an ID only in the new version are added,
+ * students with an ID only in the old version are removed, and students whose name
+ * changed while keeping their ID are renamed. See
+ * {@link StudentsFile#diff(Collection, java.nio.file.Path)}.
+ *
+ * @param added   students in the new version only, in the order of the new version
+ * @param removed students in the old version only, in the order of the old version
+ * @param renamed students whose name changed, in the order of the new version
+ */
+public record RosterDelta(List<Student> added, List<Student> removed, List<Rename> renamed) {
+
+    /**
+     * Change of the name of a student.
+     *
+     * @param before the student in the old version
+     * @param after  the student in the new version, with the same ID
+     */
+    public record Rename(Student before, Student after) {
+    }
+
+    /**
+     * Create a delta.
+     *
+     * @pre true
+     * @param added   students in the new version only
+     * @param removed students in the old version only
+     * @param renamed students whose name changed
+     */
+    public RosterDelta {
+        added = List.copyOf(added);
+        removed = List.copyOf(removed);
+        renamed = List.copyOf(renamed);
+    }
+
+    /**
+     * Compute the delta between an old version of a class and new CSV data.
+     *
+     * This is a single pass hash join on the student ID: the old students are indexed by
+     * ID, and the new students are matched against that index one by one as they are
+     * read. Memory use depends on the size of the old version and the number of students
+     * added, not on the size of the new version. The reader is not closed.
+     *
+     * As when reading a students file, the first row with an ID wins: later rows of the
+     * new version with the same ID are ignored.
+     *
+     * @pre no two students in old have the same ID
+     * @param old students of the old version
+     * @param reader reader with the new version in CSV format
+     * @return the students added, removed and renamed in the new version
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when the new version has a row that is not valid
+     */
+    public static RosterDelta of(Collection<Student> old, Reader reader) throws IOException {
+        Join join = new Join(old);
+        StudentsCsv.read(reader, join);
+        return join.delta();
+    }
+
+    /**
+     * Determine if the versions hold the same students.
+     *
+     * @pre true
+     * @return true if no student was added, removed or renamed, false otherwise
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && renamed.isEmpty();
+    }
+
+    /**
+     * Update the division of the old version to a division of the new version.
+     *
+     * Added students join and removed students leave the division, moving as few other
+     * students as possible; renamed students stay in their group.
+     *
+     * @pre division holds the students of the old version
+     * @param division the division to update
+     * @return the moves of the students that joined or changed groups
+     * @throws IllegalArgumentException when the new version cannot be divided into
+     *         groups; the division is unchanged then
+     */
+    public List<IncrementalDivision.Move> applyTo(IncrementalDivision division) {
+        if (isEmpty()) {
+            return List.of();
+        }
+        List<IncrementalDivision.Move> moves = division.apply(added, removed);
+        List<Student> renames = new ArrayList<>();
+        for (Rename rename : renamed) {
+            renames.add(rename.after());
+        }
+        division.rename(renames);
+        return moves;
+    }
+
+    // Hash join of the students of a new version on the IDs of an old version.
+    private static final class Join implements Consumer<Student> {
+
+        // Matched students are mapped to null, so the remaining students were removed
+        private final Map<String, Student> unmatched = new LinkedHashMap<>();
+        private final Map<String, Student> added = new LinkedHashMap<>();
+        private final List<Rename> renamed = new ArrayList<>();
+
+        /**
+         * Index the old version, in its order: the insertion order of a group, or the
+         * iteration order of any other collection.
+         *
+         * @pre no two students in old have the same ID
+         * @param old students of the old version
+         */
+        Join(Collection<Student> old) {
+            Consumer<Student> index = student -> unmatched.put(student.id(), student);
+            if (old instanceof Group<Student> group) {
+                // Iterating over a group would visit its students in random order
+                group.forEachInOrder(index);
+            } else {
+                old.forEach(index);
+            }
+        }
+
+        /**
+         * Match a student of the new version; a student with an ID that was matched
+         * before is ignored.
+         *
+         * @pre true
+         * @param student the next student of the new version
+         */
+        @Override
+        public void accept(Student student) {
+            if (!unmatched.containsKey(student.id())) {
+                added.putIfAbsent(student.id(), student);
+                return;
+            }
+            Student before = unmatched.put(student.id(), null);
+            if (before != null && (!before.firstName().equals(student.firstName())
+                    || !before.lastName().equals(student.lastName()))) {
+                renamed.add(new Rename(before, student));
+            }
+        }
+
+        /**
+         * Delta of the students matched so far.
+         *
+         * @pre all students of the new version have been matched
+         * @return the students added, removed and renamed in the new version
+         */
+        RosterDelta delta() {
+            List<Student> removed = new ArrayList<>();
+            for (Student student : unmatched.values()) {
+                if (student != null) {
+                    removed.add(student);
+                }
+            }
+            return new RosterDelta(new ArrayList<>(added.values()), removed, renamed);
+        }
+
+    }
+
+}
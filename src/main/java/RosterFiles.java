@@ -0,0 +1,67 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Find students files given as directories, glob patterns or paths.
+ */
+public class RosterFiles {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    /**
+     * Find the students files selected by a list of directories, glob patterns and paths.
+     *
+     * A directory selects the files in it matching pattern. A glob pattern, such as
+     * {@code classes/*.csv}, selects the matching files in its directory. Any other path
+     * selects itself. Files selected by one entry are sorted by name.
+     *
+     * @pre true
+     * @param rosters directories, glob patterns or paths
+     * @param pattern glob pattern selecting the students files in a directory
+     * @return the selected files, in order
+     * @throws IOException when a directory cannot be read
+     */
+    public static List<Path> find(List<String> rosters, String pattern) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String roster : rosters) {
+            int glob = firstGlobCharacter(roster);
+            if (glob >= 0) {
+                int separator = Math.max(roster.lastIndexOf('/', glob),
+                        roster.lastIndexOf(File.separatorChar, glob));
+                String directory = separator < 0 ? "." : roster.substring(0, separator + 1);
+                addMatching(files, Path.of(directory), roster.substring(separator + 1));
+            } else if (Files.isDirectory(Path.of(roster))) {
+                addMatching(files, Path.of(roster), pattern);
+            } else {
+                files.add(Path.of(roster));
+            }
+        }
+        return files;
+    }
+
+    private static int firstGlobCharacter(String roster) {
+        for (int i = 0; i < roster.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(roster.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void addMatching(List<Path> files, Path directory, String glob)
+            throws IOException {
+        List<Path> matching = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, glob)) {
+            entries.forEach(matching::add);
+        }
+        matching.removeIf(Files::isDirectory);
+        matching.sort(null);
+        files.addAll(matching);
+    }
+
+}
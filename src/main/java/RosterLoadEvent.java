@@ -0,0 +1,79 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@code RosterLoadEvent} is a Java Flight Recorder event for reading a students file
+ * into memory.
+ *
+ * Like all JFR events, it is cheap to create and nothing is recorded when recording is
+ * off; its fields are only filled in when the event will be committed.
+ */
+@Name(RosterLoadEvent.NAME)
+@Label("Roster Load")
+@Category("Classdivider")
+@Description("Reading a students file into memory")
+@StackTrace(false)
+final class RosterLoadEvent extends Event {
+
+    /**
+     * Name of this event in recordings.
+     */
+    static final String NAME = "classdivider.RosterLoad";
+
+    @Label("Path")
+    private String path;
+
+    @Label("Rows")
+    @Description("Number of students read")
+    private int rows;
+
+    @Label("Bytes")
+    @Description("Size of the students file")
+    @DataAmount
+    private long bytes;
+
+    @Label("Parallelism")
+    @Description("Number of threads used to parse the file")
+    private int parallelism;
+
+    /**
+     * Begin timing reading a students file.
+     *
+     * @pre true
+     * @return the event, begun
+     */
+    static RosterLoadEvent start() {
+        RosterLoadEvent event = new RosterLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End this event and commit it if it is enabled and exceeds its threshold.
+     *
+     * @pre {@link #begin()} has been called
+     * @param file the students file read
+     * @param rows number of students read
+     * @param parallelism number of threads used to parse file
+     * @throws IOException when the size of file cannot be read
+     */
+    void commit(Path file, int rows, int parallelism) throws IOException {
+        end();
+        if (shouldCommit()) {
+            this.path = file.toString();
+            this.rows = rows;
+            this.bytes = Files.size(file);
+            this.parallelism = parallelism;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * {@code RotationScheduler} divides a class again and again, so that students meet as
+ * many new classmates as possible.
+ *
+ * Every round starts from a random division, which a local search then improves: the
+ * groups are paired up at random, and within each pair of groups the student swap that
+ * most reduces the number of repeated pairings is made until no swap helps. The pairs of
+ * groups are disjoint, so they are improved in parallel without locking; the history of
+ * earlier rounds is only read during a round, and updated after it. Swaps keep the sizes
+ * of the groups, and the search stops when several pairings in a row bring no
+ * improvement. With the same seed, a class gets the same rounds on any number of
+ * threads.
+ */
+public final class RotationScheduler {
+
+    // Rounds of pairing up groups without improvement before the search stops
+    private static final int PATIENCE = 5;
+    private static final int MAX_SWEEPS = 1_000;
+
+    private final Student[] students;
+    private final Map<String, Boolean> uniqueFirstName;
+    private final DivisionPlan plan;
+    private final SplittableRandom random;
+    private final ForkJoinPool pool;
+    private final PairHistory history;
+    private int number;
+
+    /**
+     * Round of a rotation.
+     *
+     * @param number  number of the round, starting at 1
+     * @param result  the groups of the round
+     * @param pairs   number of pairs of students sharing a group in the round
+     * @param repeats number of times these pairs shared a group in earlier rounds
+     */
+    public record Round(int number, DivisionResult result, long pairs, long repeats) {
+    }
+
+    /**
+     * Create a scheduler for a class.
+     *
+     * @pre {@code parallelism > 0}
+     * @param klas        the students to be divided into groups
+     * @param parameters  group size and deviation
+     * @param seed        seed of the random divisions
+     * @param parallelism number of threads used by the local search
+     * @throws IllegalArgumentException if the class cannot be divided into groups
+     */
+    public RotationScheduler(Group<Student> klas, DivisionParameters parameters, long seed,
+            int parallelism) {
+        this.students = klas.toArray(Student[]::new);
+        this.uniqueFirstName = Divider.uniqueFirstName(students);
+        this.plan = DivisionPlan.of(students.length, parameters.groupSize(),
+                parameters.deviation());
+        this.random = new SplittableRandom(seed);
+        this.pool = new ForkJoinPool(parallelism);
+        this.history = new PairHistory(students.length);
+    }
+
+    /**
+     * Divide the class for the next round, and add it to the history.
+     *
+     * @pre true
+     * @return the next round
+     */
+    public Round next() {
+        int[] shuffled = IntStream.range(0, students.length).toArray();
+        shuffle(shuffled);
+        int[][] groups = new int[plan.groups()][];
+        for (int group = 0, offset = 0; group < groups.length; group++) {
+            groups[group] = Arrays.copyOfRange(shuffled, offset, offset + plan.size(group));
+            offset += plan.size(group);
+        }
+        improve(groups);
+
+        long pairs = 0;
+        long repeats = 0;
+        int[] order = new int[students.length];
+        int[] offsets = new int[groups.length + 1];
+        for (int group = 0; group < groups.length; group++) {
+            pairs += (long) groups[group].length * (groups[group].length - 1) / 2;
+            repeats += history.repeats(groups[group]);
+            history.add(groups[group]);
+            System.arraycopy(groups[group], 0, order, offsets[group], groups[group].length);
+            offsets[group + 1] = offsets[group] + groups[group].length;
+        }
+        number++;
+        Division division = Division.of(row -> students[row], order, offsets);
+        return new Round(number, new DivisionResult(division, uniqueFirstName), pairs,
+                repeats);
+    }
+
+    /**
+     * Stop the threads of the local search.
+     *
+     * @pre true
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Improve the groups by swaps within random pairs of groups, in parallel.
+    private void improve(int[][] groups) {
+        int[] order = IntStream.range(0, groups.length).toArray();
+        int stale = 0;
+        for (int sweep = 0; sweep < MAX_SWEEPS && stale < PATIENCE; sweep++) {
+            shuffle(order);
+            long gain = pool.submit(() -> IntStream.range(0, order.length / 2).parallel()
+                    .mapToLong(pair -> improvePair(groups[order[2 * pair]],
+                            groups[order[2 * pair + 1]]))
+                    .sum()).join();
+            stale = gain > 0 ? 0 : stale + 1;
+        }
+    }
+
+    private void shuffle(int[] rows) {
+        for (int i = rows.length - 1; i > 0; i--) {
+            int other = random.nextInt(i + 1);
+            int swap = rows[i];
+            rows[i] = rows[other];
+            rows[other] = swap;
+        }
+    }
+
+    // Make the best swap between groups a and b until none reduces the repeats.
+    private long improvePair(int[] a, int[] b) {
+        long gain = 0;
+        for (int[] best = bestSwap(a, b); best != null; best = bestSwap(a, b)) {
+            int swap = a[best[0]];
+            a[best[0]] = b[best[1]];
+            b[best[1]] = swap;
+            gain -= best[2];
+        }
+        return gain;
+    }
+
+    // The indices i and j of the swap of a[i] and b[j] that reduces the repeats most, and
+    // the change of the repeats, or null if no swap reduces them.
+    private int[] bestSwap(int[] a, int[] b) {
+        int[] best = null;
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b.length; j++) {
+                int delta = delta(a, b, i, j);
+                if (delta < (best == null ? 0 : best[2])) {
+                    best = new int[] {i, j, delta};
+                }
+            }
+        }
+        return best;
+    }
+
+    // Change of the repeats when a[i] and b[j] are swapped.
+    private int delta(int[] a, int[] b, int i, int j) {
+        int x = a[i];
+        int y = b[j];
+        return history.count(x, b, y) + history.count(y, a, x)
+                - history.count(x, a, x) - history.count(y, b, y);
+    }
+
+}
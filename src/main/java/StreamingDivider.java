@@ -0,0 +1,156 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+/**
+ * {@code StreamingDivider} divides a class into groups without holding its students in
+ * memory, writing the group of every student as a CSV row {@code ID,group}.
+ *
+ * The students file is read twice. The first pass only counts the students, to plan
+ * the group sizes with {@link DivisionPlan}. The plan lays out the class as numbered
+ * slots, group after group, and a random permutation of the slots, shuffled with the
+ * seed, gives the slot of every row. The second pass then writes each student with the
+ * group of their slot as soon as it is read. Memory use is the permutation, four bytes
+ * per student, plus a buffer, however long the names in the file are.
+ */
+public final class StreamingDivider {
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.Builder
+            .create(CSVFormat.DEFAULT)
+            .setHeader("ID", "group")
+            .build();
+
+    private StreamingDivider() {
+    }
+
+    /**
+     * Divide the class in a students file, writing the group of every student.
+     *
+     * Groups are numbered from 1, and the rows are written in the order of file. The
+     * same file and seed always give the same groups.
+     *
+     * @pre file is not modified while it is being divided
+     * @param file       path to file with students data in CSV format
+     * @param parameters group size and deviation
+     * @param seed       seed of the random division
+     * @param out        writer to write to; it is flushed but not closed
+     * @return the plan of the group sizes
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException if the class cannot be divided into groups, or
+     *         the file changed between the passes
+     */
+    public static DivisionPlan divide(Path file, DivisionParameters parameters, long seed,
+            Writer out) throws IOException {
+        long[] count = new long[1];
+        read(file, student -> count[0]++);
+        if (count[0] > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                    "Unable to divide a class of %d students.".formatted(count[0]));
+        }
+        DivisionPlan plan = DivisionPlan.of((int) count[0], parameters.groupSize(),
+                parameters.deviation());
+        int[] slots = slots((int) count[0], new SplittableRandom(seed));
+
+        CSVPrinter printer = new CSVPrinter(out, CSV_FORMAT);
+        int[] row = new int[1];
+        try {
+            read(file, student -> {
+                checkUnchanged(row[0] < slots.length);
+                print(printer, student.id(), group(plan, slots[row[0]++]) + 1);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        printer.flush();
+        checkUnchanged(row[0] == slots.length);
+        return plan;
+    }
+
+    /**
+     * Divide the class in a students file, writing the group of every student to a file,
+     * or to standard output.
+     *
+     * See {@link #divide(Path, DivisionParameters, long, Writer)}.
+     *
+     * @pre file is not modified while it is being divided
+     * @param file       path to file with students data in CSV format
+     * @param parameters group size and deviation
+     * @param seed       seed of the random division
+     * @param output     path of the file to write to, or null for standard output
+     * @return the plan of the group sizes
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException if the class cannot be divided into groups, or
+     *         the file changed between the passes
+     */
+    public static DivisionPlan divide(Path file, DivisionParameters parameters, long seed,
+            Path output) throws IOException {
+        Writer out = GroupsRenderer.writer(output);
+        try {
+            return divide(file, parameters, seed, out);
+        } finally {
+            if (output == null) {
+                out.flush(); // leave standard output open
+            } else {
+                out.close();
+            }
+        }
+    }
+
+    private static void checkUnchanged(boolean unchanged) {
+        if (!unchanged) {
+            throw new IllegalArgumentException("The students file changed while dividing.");
+        }
+    }
+
+    private static void read(Path file, Consumer<Student> sink) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            StudentsCsv.read(reader, sink);
+        }
+    }
+
+    private static void print(CSVPrinter printer, String id, int group) {
+        try {
+            printer.printRecord(id, group);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A random permutation of the slots 0 .. classSize - 1.
+    private static int[] slots(int classSize, SplittableRandom random) {
+        int[] slots = new int[classSize];
+        for (int row = 0; row < classSize; row++) {
+            int other = random.nextInt(row + 1);
+            slots[row] = slots[other];
+            slots[other] = row;
+        }
+        return slots;
+    }
+
+    /**
+     * Group of a slot in a plan.
+     *
+     * The slots of the {@code larger} groups of {@code size + 1} students come first.
+     *
+     * @pre {@code 0 <= slot < classSize}
+     * @param plan the plan of the group sizes
+     * @param slot number of the slot
+     * @return index of the group that slot is in
+     */
+    static int group(DivisionPlan plan, int slot) {
+        int largerSlots = plan.larger() * (plan.size() + 1);
+        if (slot < largerSlots) {
+            return slot / (plan.size() + 1);
+        }
+        return plan.larger() + (slot - largerSlots) / plan.size();
+    }
+
+}
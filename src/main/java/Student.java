@@ -48,6 +48,24 @@ public record Student(String firstName, String lastName, String id) {
         return last + ", " + firstName + (prefix.isBlank() ? "" : " " + prefix);
     }
 
+    /**
+     * Return the first character of the sort name, without building the sort name.
+     *
+     * @pre true
+     * @post {@code \result == sortName().charAt(0)}
+     * @return the first character of this student's sort name
+     */
+    public char sortInitial() {
+        for (int i = 0; i < lastName.length(); i++) {
+            if (Character.isUpperCase(lastName.charAt(i))) {
+                return lastName.charAt(i);
+            }
+        }
+
+        // Note. When no capital letter in lastName, the sort name starts with ", ".
+        return ',';
+    }
+
     /**
      * Two students are equal when they have the same ID.
      *
@@ -64,4 +82,16 @@ public record Student(String firstName, String lastName, String id) {
         return false;
     }
 
+    /**
+     * Hash code of this student, consistent with {@link #equals(Object)}.
+     *
+     * @pre true
+     * @post {@code \result == id().hashCode()}
+     * @return hash code of this student's ID
+     */
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
 }
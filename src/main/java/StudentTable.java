@@ -0,0 +1,277 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@code StudentTable} of students stored column by column.
+ *
+ * Student IDs are kept in a {@code long[]} and names are dictionary-encoded into
+ * {@code int[]} codes, so a student takes a few primitive slots instead of a record and
+ * three Strings. Every student is identified by its row, {@code 0 <= row < size()}, and
+ * {@link Student} objects are only created on request by {@link #get(int)}.
+ *
+ * Like a {@link Group}, a table contains each student ID at most once.
+ */
+public class StudentTable implements Roster {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] ids;
+    private int[] firstNames;
+    private int[] lastNames;
+    private int size;
+
+    private final List<String> names;
+    private final Map<String, Integer> codes;
+    private int[] firstNameCounts;
+
+    // Open addressing hash index from ID to row + 1; 0 marks an empty slot.
+    private int[] index;
+
+    /*
+     * Model: sequence of students, indexed by row
+     *
+     * Representation invariant:
+     * - (\forall r; 0 <= r < size; names.get(firstNames[r]) is the first name of row r)
+     * - (\forall c; 0 <= c < names.size(); codes.get(names.get(c)) == c)
+     * - firstNameCounts[c] == |{r|firstNames[r] == c}|
+     * - index.length is a power of two and at least 2 * size
+     */
+
+    /**
+     * Create a new empty table.
+     *
+     * @pre true
+     */
+    public StudentTable() {
+        ids = new long[INITIAL_CAPACITY];
+        firstNames = new int[INITIAL_CAPACITY];
+        lastNames = new int[INITIAL_CAPACITY];
+        names = new ArrayList<>();
+        codes = new HashMap<>();
+        firstNameCounts = new int[INITIAL_CAPACITY];
+        index = new int[2 * INITIAL_CAPACITY];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add a student to this table.
+     *
+     * @pre {@code student.id()} is a non-negative decimal number without leading zeros
+     * @param student student to add
+     * @post {@code \result ==> get(size() - 1).equals(student)}
+     * @return true when no student with the same ID was in this table, false otherwise
+     * @throws IllegalArgumentException when the ID of student is not a student number
+     */
+    public boolean add(Student student) {
+        long id = parseId(student.id());
+        if (row(id) >= 0) {
+            return false;
+        }
+
+        ensureCapacity(size + 1);
+        ids[size] = id;
+        firstNames[size] = encode(student.firstName());
+        lastNames[size] = encode(student.lastName());
+        firstNameCounts[firstNames[size]]++;
+        size++;
+        insert(size - 1);
+        return true;
+    }
+
+    /**
+     * Row of the student with the given ID.
+     *
+     * @pre {@code true}
+     * @param id student number to look up
+     * @return the row of the student with that ID, or -1 if there is no such student
+     */
+    public int row(long id) {
+        int mask = index.length - 1;
+        for (int slot = hash(id) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            if (ids[index[slot] - 1] == id) {
+                return index[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long id(int row) {
+        return ids[checkRow(row)];
+    }
+
+    @Override
+    public String firstName(int row) {
+        return names.get(firstNames[checkRow(row)]);
+    }
+
+    @Override
+    public String lastName(int row) {
+        return names.get(lastNames[checkRow(row)]);
+    }
+
+    @Override
+    public boolean hasUniqueFirstName(int row) {
+        return firstNameCounts[firstNames[checkRow(row)]] == 1;
+    }
+
+    /**
+     * Create a table of students from a CSV file.
+     *
+     * Rows are added to the table in file order without keeping a group of
+     * students, so memory use is that of the table.
+     *
+     * @pre every student ID in file is a student number
+     * @param file path to file with CSV data
+     * @return table of students
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a row is invalid
+     */
+    public static StudentTable fromCSV(Path file) throws IOException {
+        StudentTable table = new StudentTable();
+
+        if (MappedStudentsFile.hasStandardHeader(file)) {
+            MappedStudentsFile.read(file, table::add);
+        } else {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                StudentsCsv.read(reader, table::add);
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Number of distinct names, first and last, in this table.
+     *
+     * @pre true
+     * @return the number of name codes
+     */
+    int nameCount() {
+        return names.size();
+    }
+
+    /**
+     * Name with the given code.
+     *
+     * @pre {@code 0 <= code < nameCount()}
+     * @param code name code
+     * @return the name with that code
+     */
+    String name(int code) {
+        return names.get(code);
+    }
+
+    /**
+     * Code of the first name of the student in row.
+     *
+     * @pre {@code 0 <= row < size()}
+     * @param row row of the student
+     * @return the name code of the first name of the student in row
+     */
+    int firstNameCode(int row) {
+        return firstNames[checkRow(row)];
+    }
+
+    /**
+     * Code of the last name of the student in row.
+     *
+     * @pre {@code 0 <= row < size()}
+     * @param row row of the student
+     * @return the name code of the last name of the student in row
+     */
+    int lastNameCode(int row) {
+        return lastNames[checkRow(row)];
+    }
+
+    /**
+     * Number of students with the given first name code.
+     *
+     * @pre {@code 0 <= code < nameCount()}
+     * @param code name code
+     * @return the number of students in this table with that first name
+     */
+    int firstNameCount(int code) {
+        return firstNameCounts[code];
+    }
+
+    /**
+     * Parse a student ID as student number.
+     *
+     * @pre true
+     * @param id student ID
+     * @return the student number
+     * @throws IllegalArgumentException when id is not a non-negative decimal number
+     *         without leading zeros
+     */
+    static long parseId(String id) {
+        try {
+            long number = Long.parseLong(id);
+            if (number >= 0 && Long.toString(number).equals(id)) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("ID '%s' is not a student number.".formatted(id));
+    }
+
+    private int checkRow(int row) {
+        return Objects.checkIndex(row, size);
+    }
+
+    private int encode(String name) {
+        Integer code = codes.get(name);
+        if (code == null) {
+            code = names.size();
+            names.add(name);
+            codes.put(name, code);
+            if (code == firstNameCounts.length) {
+                firstNameCounts = Arrays.copyOf(firstNameCounts, 2 * code);
+            }
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int length = Math.max(capacity, 2 * ids.length);
+            ids = Arrays.copyOf(ids, length);
+            firstNames = Arrays.copyOf(firstNames, length);
+            lastNames = Arrays.copyOf(lastNames, length);
+        }
+        if (2 * capacity > index.length) {
+            index = new int[2 * index.length];
+            for (int row = 0; row < size; row++) {
+                insert(row);
+            }
+        }
+    }
+
+    private void insert(int row) {
+        int mask = index.length - 1;
+        int slot = hash(ids[row]) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = row + 1;
+    }
+
+    private static int hash(long id) {
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+}
@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * The CSV format of students files, used by {@link StudentsFile} to read and write
+ * student records one at a time.
+ */
+final class StudentsCsv {
+
+    private static final String FIRST_NAME = "first name";
+    private static final String LAST_NAME = "last name";
+    private static final String ID = "ID";
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.Builder
+            .create(CSVFormat.DEFAULT)
+            .setHeader(FIRST_NAME, LAST_NAME, ID)
+            .setSkipHeaderRecord(true)
+            .build();
+
+    private StudentsCsv() {
+    }
+
+    /**
+     * Pass the students in CSV data read from reader to sink, in order.
+     *
+     * @pre true
+     * @param reader reader with student data in CSV format
+     * @param sink consumer of the students read
+     * @throws IOException when an I/O error occurs, or a record is not valid CSV, such as
+     *         a quoted field followed by other characters
+     */
+    static void read(Reader reader, Consumer<Student> sink) throws IOException {
+        CSVParser records = CSV_FORMAT.parse(reader);
+
+        // TODO: actual validation of the records
+
+        try {
+            for (CSVRecord record : records) {
+                sink.accept(new Student(
+                        record.get(FIRST_NAME),
+                        record.get(LAST_NAME),
+                        record.get(ID)
+                ));
+            }
+        } catch (UncheckedIOException e) {
+            // The iterator of commons-csv wraps the errors of reading a record
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Write students as CSV records without header, in the order they were added.
+     *
+     * @pre true
+     * @param students group of students
+     * @param out where to write the records to; it is not flushed or closed
+     * @throws IOException when an I/O error occurs
+     */
+    static void write(Group<Student> students, Appendable out) throws IOException {
+        CSVPrinter printer = new CSVPrinter(out, CSV_FORMAT);
+        try {
+            students.forEachInOrder(student -> print(printer, student.firstName(),
+                    student.lastName(), student.id()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void print(CSVPrinter printer, String... values) {
+        try {
+            printer.printRecord((Object[]) values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
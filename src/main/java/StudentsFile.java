@@ -1,10 +1,16 @@
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVPrinter;
-import org.apache.commons.csv.CSVRecord;
+import java.util.Collection;
 
 /**
  * Read and write CSV files with student information.
@@ -13,26 +19,54 @@ import org.apache.commons.csv.CSVRecord;
  */
 public class StudentsFile {
 
-    private static final String FIRST_NAME = "first name";
-    private static final String LAST_NAME = "last name";
-    private static final String ID = "ID";
-
-    private static final CSVFormat CSV_FORMAT = CSVFormat.Builder
-            .create(CSVFormat.DEFAULT)
-            .setHeader(FIRST_NAME, LAST_NAME, ID)
-            .setSkipHeaderRecord(true)
-            .build();
-
     /**
      * Create a group of students from a CSV file.
      *
+     * The file is read as a stream of records, so memory use depends on the
+     * number of students rather than on the size of the file. Files in the
+     * standard format are read by {@link MappedStudentsFile}.
+     *
      * @pre true
      * @param file path to file with CSV data
      * @return group of students
      * @throws IOException when an I/O error occurs
      */
     public static Group<Student> fromCSV(Path file) throws IOException {
-        return fromCSV(Files.readString(file));
+        return fromCSV(file, 1);
+    }
+
+    /**
+     * Create a group of students from a CSV file, parsing on multiple threads.
+     *
+     * Only files in the standard format are parsed in parallel; other files
+     * are read as by {@link #fromCSV(Path)}.
+     *
+     * @pre {@code parallelism > 0}
+     * @param file path to file with CSV data
+     * @param parallelism number of threads to parse with
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    public static Group<Student> fromCSV(Path file, int parallelism) throws IOException {
+        RosterLoadEvent event = RosterLoadEvent.start();
+        Group<Student> students = load(file, parallelism);
+        event.commit(file, students.size(), parallelism);
+        return students;
+    }
+
+    /**
+     * Create a roster of students from a CSV file, using a binary snapshot as cache.
+     *
+     * See {@link StudentsSnapshot#load(Path, Path)}.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @param snapshot path to the snapshot of file
+     * @return roster of students
+     * @throws IOException when an I/O error occurs
+     */
+    public static Roster fromCSV(Path file, Path snapshot) throws IOException {
+        return StudentsSnapshot.load(file, snapshot);
     }
 
     /**
@@ -44,22 +78,61 @@ public class StudentsFile {
      * @throws IOException when an I/O error occurs
      */
     public static Group<Student> fromCSV(String csv) throws IOException {
-        CSVParser records = CSVParser.parse(csv, CSV_FORMAT);
-        Group<Student> students = new Group<>();
-
-        // TODO: actual validation of the records
+        return fromCSV(new StringReader(csv));
+    }
 
-        for (CSVRecord record : records) {
-            students.add(new Student(
-                    record.get(FIRST_NAME),
-                    record.get(LAST_NAME),
-                    record.get(ID)
-            ));
-        }
+    /**
+     * Create a group of students from a stream with UTF-8 encoded CSV data.
+     *
+     * The stream is not closed.
+     *
+     * @pre true
+     * @param in stream with student data in CSV format
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    public static Group<Student> fromCSV(InputStream in) throws IOException {
+        return fromCSV(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
 
+    /**
+     * Create a group of students from CSV data read from reader.
+     *
+     * Records are added to the group one by one as they are read. The reader
+     * is not closed.
+     *
+     * @pre true
+     * @param reader reader with student data in CSV format
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    public static Group<Student> fromCSV(Reader reader) throws IOException {
+        Group<Student> students = new Group<>();
+        StudentsCsv.read(reader, students::add);
         return students;
     }
 
+    /**
+     * Compute the delta between an old version of a class and a new CSV file.
+     *
+     * The old students are indexed by ID, and the students in file are matched against
+     * that index one by one as they are read, so the new version is never held in
+     * memory. As with {@link #fromCSV(Path)}, the first row with an ID wins. See
+     * {@link RosterDelta#of(Collection, Reader)}.
+     *
+     * @pre no two students in old have the same ID
+     * @param old students of the old version
+     * @param file path to the new version, with CSV data
+     * @return the students added, removed and renamed in file
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when file has a row that is not valid
+     */
+    public static RosterDelta diff(Collection<Student> old, Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return RosterDelta.of(old, reader);
+        }
+    }
+
     /**
      * Convert a group of students as CSV string.
      *
@@ -70,13 +143,7 @@ public class StudentsFile {
      */
     public static String toCSV(Group<Student> students) throws IOException {
         StringBuilder csv = new StringBuilder();
-
-        try (CSVPrinter printer = new CSVPrinter(csv, CSV_FORMAT)) {
-            for (Student student : students) {
-                printer.printRecord(student.firstName(), student.lastName(), student.id());
-            }
-        }
-
+        StudentsCsv.write(students, csv);
         return csv.toString();
     }
 
@@ -89,7 +156,100 @@ public class StudentsFile {
      * @throws java.io.IOException when an I/O error occurs
      */
     public static void toCSV(Path file, Group<Student> students) throws IOException {
-        Files.writeString(file, toCSV(students));
+        try (Writer out = GroupsRenderer.writer(Files.newOutputStream(file))) {
+            toCSV(students, out);
+        }
+    }
+
+    /**
+     * Write a group of students as CSV to a writer.
+     *
+     * The students are written in the order they were added to the group, one record at
+     * a time, so the memory used does not depend on the number of students.
+     *
+     * @pre true
+     * @param students group of students
+     * @param out writer to write to; it is flushed but not closed
+     * @throws java.io.IOException when an I/O error occurs
+     */
+    public static void toCSV(Group<Student> students, Writer out) throws IOException {
+        StudentsCsv.write(students, out);
+        out.flush();
+    }
+
+    /**
+     * Write a group of students as UTF-8 encoded CSV to a stream, through a large buffer.
+     *
+     * See {@link #toCSV(Group, Writer)}.
+     *
+     * @pre true
+     * @param students group of students
+     * @param out stream to write to; it is flushed but not closed
+     * @throws java.io.IOException when an I/O error occurs
+     */
+    public static void toCSV(Group<Student> students, OutputStream out) throws IOException {
+        toCSV(students, GroupsRenderer.writer(out));
+    }
+
+    /**
+     * Write a group of students as UTF-8 encoded CSV to a file channel, from its current
+     * position, through a large buffer.
+     *
+     * See {@link #toCSV(Group, Writer)}.
+     *
+     * @pre channel is open for writing
+     * @param students group of students
+     * @param channel channel to write to; it is not closed
+     * @throws java.io.IOException when an I/O error occurs
+     */
+    public static void toCSV(Group<Student> students, FileChannel channel) throws IOException {
+        toCSV(students, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Write the students of a division as CSV to a writer, with their group.
+     *
+     * The CSV is the same as written by the {@code csv} output format, see
+     * {@link CsvGroupsRenderer}: a header, {@code group,first name,last name,ID}, and
+     * groups numbered from 1. The students are written one record at a time, so the
+     * memory used does not depend on the number of students.
+     *
+     * @pre true
+     * @param result the division to write
+     * @param out writer to write to; it is flushed but not closed
+     * @throws java.io.IOException when an I/O error occurs
+     */
+    public static void toCSV(DivisionResult result, Writer out) throws IOException {
+        GroupsRenderer.of("csv").render(result.groups(), result.uniqueFirstName(), out);
+    }
+
+    /**
+     * Write the students of a division to a CSV file, with their group.
+     *
+     * See {@link #toCSV(DivisionResult, Writer)}.
+     *
+     * @pre true
+     * @param file path to CSV file
+     * @param result the division to write
+     * @throws java.io.IOException when an I/O error occurs
+     */
+    public static void toCSV(Path file, DivisionResult result) throws IOException {
+        try (Writer out = GroupsRenderer.writer(Files.newOutputStream(file))) {
+            toCSV(result, out);
+        }
+    }
+
+    // Read a students file with the fastest reader for its format.
+    private static Group<Student> load(Path file, int parallelism) throws IOException {
+        if (!MappedStudentsFile.hasStandardHeader(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                return fromCSV(reader);
+            }
+        }
+        if (parallelism > 1) {
+            return ParallelStudentsFile.fromCSV(file, parallelism);
+        }
+        return MappedStudentsFile.fromCSV(file);
     }
 
 }
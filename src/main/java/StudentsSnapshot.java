@@ -0,0 +1,330 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * {@code StudentsSnapshot} is a read-only roster stored in a compact binary file.
+ *
+ * A snapshot file is memory-mapped and students are decoded from it only when
+ * requested, so opening a snapshot takes little time and heap regardless of the number
+ * of students. A snapshot records the size and modification time of the CSV file it was
+ * made from, and a checksum of its contents. {@link #load(Path, Path)} uses these to
+ * detect a stale or damaged snapshot and rebuild it from the CSV file.
+ *
+ * The snapshot format, with all numbers big-endian:
+ *
+ * <pre>
+ * header    magic "CDSNAP01", int version, int students, int names, int reserved,
+ *           long source size, long source modification time, long CRC32C of body
+ * body      long[students] IDs, int[students] first name codes,
+ *           int[students] last name codes, int[names] first name counts,
+ *           int[names + 1] name offsets in pool, byte[] UTF-8 name pool
+ * </pre>
+ */
+public class StudentsSnapshot implements Roster {
+
+    private static final long MAGIC = 0x4344534E41503031L; // "CDSNAP01"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 48;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int firstNames;
+    private final int lastNames;
+    private final int counts;
+    private final int offsets;
+    private final int pool;
+
+    /*
+     * Representation: buffer holds the snapshot file; the int fields are the offsets of
+     * the columns in buffer.
+     */
+
+    // Open the snapshot in buffer, which has a valid header and checksum.
+    private StudentsSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.size = buffer.getInt(12);
+        int names = buffer.getInt(16);
+        this.firstNames = HEADER_SIZE + Long.BYTES * size;
+        this.lastNames = firstNames + Integer.BYTES * size;
+        this.counts = lastNames + Integer.BYTES * size;
+        this.offsets = counts + Integer.BYTES * names;
+        this.pool = offsets + Integer.BYTES * (names + 1);
+    }
+
+    /**
+     * Load the students in a CSV file, using a snapshot file as cache.
+     *
+     * If snapshot is a valid snapshot of the current version of file, it is opened.
+     * Otherwise, file is parsed and a new snapshot is written to snapshot first.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @param snapshot path to the snapshot of file
+     * @return the students in file
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a row in file is invalid
+     */
+    public static StudentsSnapshot load(Path file, Path snapshot) throws IOException {
+        long[] fingerprint = fingerprint(file);
+        try {
+            ByteBuffer buffer = map(snapshot);
+            if (isValid(buffer, fingerprint)) {
+                return new StudentsSnapshot(buffer);
+            }
+        } catch (NoSuchFileException e) {
+            // build the snapshot below
+        }
+
+        write(snapshot, StudentTable.fromCSV(file), fingerprint);
+        return open(snapshot);
+    }
+
+    /**
+     * Open a snapshot file.
+     *
+     * @pre true
+     * @param snapshot path to the snapshot file
+     * @return the students in the snapshot
+     * @throws IOException when an I/O error occurs or snapshot is not a valid snapshot
+     */
+    public static StudentsSnapshot open(Path snapshot) throws IOException {
+        ByteBuffer buffer = map(snapshot);
+        if (!isValid(buffer, null)) {
+            throw new IOException("'%s' is not a valid students snapshot.".formatted(snapshot));
+        }
+        return new StudentsSnapshot(buffer);
+    }
+
+    /**
+     * Read a snapshot from memory, such as a snapshot file received over a network.
+     *
+     * @pre true
+     * @param buffer the contents of a snapshot file, from index 0 up to its limit; it
+     *        must not be modified while the snapshot is used
+     * @return the students in the snapshot
+     * @throws IOException when buffer does not hold a valid snapshot
+     */
+    public static StudentsSnapshot of(ByteBuffer buffer) throws IOException {
+        if (!isValid(buffer, null)) {
+            throw new IOException("Not a valid students snapshot.");
+        }
+        return new StudentsSnapshot(buffer);
+    }
+
+    /**
+     * Write a table of students to a snapshot file.
+     *
+     * The snapshot is written to a temporary file first, which then replaces snapshot.
+     *
+     * @pre true
+     * @param snapshot path to the snapshot file
+     * @param table students to write
+     * @param source path to the CSV file the students were read from
+     * @throws IOException when an I/O error occurs
+     */
+    public static void write(Path snapshot, StudentTable table, Path source)
+            throws IOException {
+        write(snapshot, table, fingerprint(source));
+    }
+
+    private static void write(Path snapshot, StudentTable table, long[] fingerprint)
+            throws IOException {
+        Path directory = Objects.requireNonNullElse(
+                snapshot.toAbsolutePath().getParent(), Path.of("."));
+        Path temp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            CRC32C checksum = new CRC32C();
+            channel.position(HEADER_SIZE);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16),
+                    checksum));
+            writeBody(out, table);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putLong(MAGIC).putInt(VERSION).putInt(table.size())
+                    .putInt(table.nameCount()).putInt(0)
+                    .putLong(fingerprint[0]).putLong(fingerprint[1])
+                    .putLong(checksum.getValue());
+            channel.write(header.flip(), 0);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeBody(DataOutputStream out, StudentTable table)
+            throws IOException {
+        for (int row = 0; row < table.size(); row++) {
+            out.writeLong(table.id(row));
+        }
+        for (int row = 0; row < table.size(); row++) {
+            out.writeInt(table.firstNameCode(row));
+        }
+        for (int row = 0; row < table.size(); row++) {
+            out.writeInt(table.lastNameCode(row));
+        }
+        writeNames(out, table);
+    }
+
+    private static void writeNames(DataOutputStream out, StudentTable table)
+            throws IOException {
+        for (int code = 0; code < table.nameCount(); code++) {
+            out.writeInt(table.firstNameCount(code));
+        }
+
+        byte[][] names = new byte[table.nameCount()][];
+        int offset = 0;
+        for (int code = 0; code < names.length; code++) {
+            out.writeInt(offset);
+            names[code] = table.name(code).getBytes(StandardCharsets.UTF_8);
+            offset = Math.addExact(offset, names[code].length);
+        }
+        out.writeInt(offset);
+        for (byte[] name : names) {
+            out.write(name);
+        }
+    }
+
+    // Size and modification time of file.
+    private static long[] fingerprint(Path file) throws IOException {
+        return new long[] {Files.size(file), Files.getLastModifiedTime(file).toMillis()};
+    }
+
+    private static ByteBuffer map(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("'%s' is too large.".formatted(snapshot));
+            }
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    // Determine if buffer holds an intact snapshot of the current version, made from
+    // a source with the given fingerprint, if any. The checksum only detects damage, so
+    // the layout is checked as well: a snapshot received over a network may be crafted.
+    private static boolean isValid(ByteBuffer buffer, long[] fingerprint) {
+        if (!hasHeader(buffer)) {
+            return false;
+        }
+        boolean fresh = fingerprint == null || isMadeFrom(buffer, fingerprint);
+        return fresh && hasValidChecksum(buffer) && hasValidLayout(buffer);
+    }
+
+    private static boolean hasHeader(ByteBuffer buffer) {
+        return buffer.limit() >= HEADER_SIZE && buffer.getLong(0) == MAGIC
+                && buffer.getInt(8) == VERSION;
+    }
+
+    private static boolean isMadeFrom(ByteBuffer buffer, long[] fingerprint) {
+        return buffer.getLong(24) == fingerprint[0] && buffer.getLong(32) == fingerprint[1];
+    }
+
+    private static boolean hasValidChecksum(ByteBuffer buffer) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(HEADER_SIZE, buffer.limit() - HEADER_SIZE));
+        return checksum.getValue() == buffer.getLong(40);
+    }
+
+    // Determine if the columns fit in buffer, and the name codes and offsets are in range.
+    private static boolean hasValidLayout(ByteBuffer buffer) {
+        int size = buffer.getInt(12);
+        int names = buffer.getInt(16);
+        if (size < 0 || names < 0) {
+            return false;
+        }
+        long pool = poolOffset(size, names);
+        return pool <= buffer.limit() && hasValidCodes(buffer, size, names)
+                && hasValidOffsets(buffer, names, (int) pool);
+    }
+
+    // Offset of the name pool in a snapshot of size students with names distinct names;
+    // computed in longs, so it cannot overflow for any int counts.
+    private static long poolOffset(int size, int names) {
+        long studentColumns = Math.multiplyExact((long) Long.BYTES + 2 * Integer.BYTES, size);
+        long nameColumns = Math.addExact(Math.multiplyExact(2L * Integer.BYTES, names),
+                Integer.BYTES);
+        return Math.addExact(Math.addExact(HEADER_SIZE, studentColumns), nameColumns);
+    }
+
+    // Determine if every first and last name code is in [0, names).
+    private static boolean hasValidCodes(ByteBuffer buffer, int size, int names) {
+        int start = HEADER_SIZE + Long.BYTES * size;
+        for (int i = 0; i < 2 * size; i++) {
+            if (Integer.compareUnsigned(buffer.getInt(start + Integer.BYTES * i), names) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Determine if the name offsets never decrease from 0 and stay within the pool.
+    private static boolean hasValidOffsets(ByteBuffer buffer, int names, int pool) {
+        int start = pool - Integer.BYTES * (names + 1);
+        int previous = 0;
+        for (int code = 0; code <= names; code++) {
+            int offset = buffer.getInt(start + Integer.BYTES * code);
+            if (offset < previous) {
+                return false;
+            }
+            previous = offset;
+        }
+        return previous <= buffer.limit() - pool;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long id(int row) {
+        return buffer.getLong(HEADER_SIZE + Long.BYTES * Objects.checkIndex(row, size));
+    }
+
+    @Override
+    public String firstName(int row) {
+        return name(firstNameCode(row));
+    }
+
+    @Override
+    public String lastName(int row) {
+        return name(buffer.getInt(lastNames + Integer.BYTES * Objects.checkIndex(row, size)));
+    }
+
+    @Override
+    public boolean hasUniqueFirstName(int row) {
+        return buffer.getInt(counts + Integer.BYTES * firstNameCode(row)) == 1;
+    }
+
+    private int firstNameCode(int row) {
+        return buffer.getInt(firstNames + Integer.BYTES * Objects.checkIndex(row, size));
+    }
+
+    private String name(int code) {
+        int start = buffer.getInt(offsets + Integer.BYTES * code);
+        int end = buffer.getInt(offsets + Integer.BYTES * (code + 1));
+        byte[] bytes = new byte[end - start];
+        buffer.get(pool + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,79 @@
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Executors for running many independent, mostly short-lived tasks.
+ */
+public class TaskExecutors {
+
+    /**
+     * Create an executor that runs every task on its own virtual thread.
+     *
+     * Virtual threads are available from Java 21 on. On older Java runtimes, the
+     * executor runs the tasks on a pool with one thread per available processor instead.
+     *
+     * @pre true
+     * @return a new executor, which the caller has to shut down
+     */
+    public static ExecutorService perTask() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Apply task to every item, each on its own thread, and wait for all results.
+     *
+     * The tasks run on an executor created by {@link #perTask()}. An exception thrown by
+     * a task is rethrown once all earlier results have been collected.
+     *
+     * @pre true
+     * @param <T>   item type
+     * @param <R>   result type
+     * @param items items to apply task to
+     * @param task  task to apply
+     * @return the results of task, in the order of items
+     * @throws InterruptedException when interrupted while waiting for the results
+     */
+    public static <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> task)
+            throws InterruptedException {
+        ExecutorService executor = perTask();
+        try {
+            List<Future<R>> futures = new ArrayList<>();
+            for (T item : items) {
+                futures.add(executor.submit(() -> task.apply(item)));
+            }
+
+            List<R> results = new ArrayList<>();
+            for (Future<R> future : futures) {
+                results.add(result(future));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Wait for the result of a task, rethrowing the exception it failed with.
+    private static <R> R result(Future<R> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            // The tasks do not throw checked exceptions, so anything else is an error
+            throw (Error) e.getCause();
+        }
+    }
+
+}
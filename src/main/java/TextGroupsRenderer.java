@@ -0,0 +1,59 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write groups of students as plain text, one student per line.
+ *
+ * <pre>
+ * Group 1:
+ * - Huub
+ * - Jan J
+ *
+ * Group 2:
+ * ...
+ * </pre>
+ */
+public class TextGroupsRenderer implements GroupsRenderer {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    /**
+     * Write groups of students to out as text.
+     *
+     * Every group is built in one reused builder and written to out at once.
+     *
+     * @pre {@code (\forall g; groups.contains(g); (\forall s; g.contains(s);
+     *      uniqueFirstName.containsKey(s.firstName())))}
+     * @param groups the groups to write
+     * @param uniqueFirstName for each first name, whether it is unique in the class
+     * @param out writer to write to; it is not flushed or closed
+     * @throws IOException when an I/O error occurs
+     */
+    @Override
+    public void render(List<? extends Collection<Student>> groups,
+            Map<String, Boolean> uniqueFirstName, Writer out) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int groupNr = 0;
+
+        for (Collection<Student> group : groups) {
+            groupNr++;
+            text.setLength(0);
+            text.append("Group ").append(groupNr).append(':').append(NEWLINE);
+
+            for (Student student : group) {
+                text.append("- ").append(student.firstName());
+                if (!uniqueFirstName.get(student.firstName())) {
+                    text.append(' ').append(student.sortInitial());
+                }
+                text.append(NEWLINE);
+            }
+
+            text.append(NEWLINE);
+            out.append(text);
+        }
+    }
+
+}
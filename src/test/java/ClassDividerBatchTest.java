@@ -0,0 +1,152 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+/**
+ * Test the batch subcommand of ClassDividerCLI.
+ */
+public class ClassDividerBatchTest {
+
+    private static final String HEADER = "first name,last name,ID";
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test that every class is divided, and that failing classes do not affect the others.
+     */
+    @Test
+    public void testBatch() throws IOException {
+        Files.writeString(directory.resolve("a.csv"), TestRosters.csv(8));
+        Files.writeString(directory.resolve("b.lst"), TestRosters.csv(9));
+        // Two students cannot be divided into groups of 4 +/- 1
+        Files.writeString(directory.resolve("c.csv"), TestRosters.csv(2));
+        Files.writeString(directory.resolve("d.csv"), HEADER + "\nThis is an invalid row\n");
+        Files.writeString(directory.resolve("notes.txt"), "not a students file");
+        Path output = directory.resolve("groups");
+
+        StringWriter summary = new StringWriter();
+        int exitCode = new CommandLine(new ClassDividerCLI()).setOut(new PrintWriter(summary))
+                .execute("batch", "-g", "4", "-o", output.toString(), directory.toString());
+
+        assertEquals(1, exitCode);
+        List<String> lines = summary.toString().lines().toList();
+        assertEquals(5, lines.size());
+        assertEquals(1, count(lines, "OK ", "a.csv -> " + output.resolve("a.csv.groups.txt")));
+        assertEquals(1, count(lines, "OK ", "b.lst -> " + output.resolve("b.lst.groups.txt")));
+        assertEquals(1, count(lines, "FAILED ", "c.csv: "));
+        assertEquals(1, count(lines, "FAILED ", "d.csv: "));
+        assertTrue(lines.get(4).matches("Divided 2 of 4 classes in \\d+ ms; 2 failed\\."));
+        assertTrue(Files.exists(output.resolve("a.csv.groups.txt")));
+        assertTrue(Files.exists(output.resolve("b.lst.groups.txt")));
+        assertFalse(Files.exists(output.resolve("c.csv.groups.txt")));
+        assertFalse(Files.exists(output.resolve("d.csv.groups.txt")));
+        assertFalse(Files.exists(output.resolve("notes.txt.groups.txt")));
+
+        String groups = Files.readString(output.resolve("a.csv.groups.txt"));
+        assertTrue(groups.startsWith("Group 1:"));
+        assertEquals(8, groups.lines().filter(line -> line.startsWith("- ")).count());
+    }
+
+    // The number of summary lines with the given status that mention the given text.
+    private static long count(List<String> lines, String status, String text) {
+        return lines.stream().filter(line -> line.startsWith(status) && line.contains(text))
+                .count();
+    }
+
+    /**
+     * Test that students files with the same output file are rejected before dividing.
+     */
+    @Test
+    public void testBatchOutputCollision() throws IOException {
+        Files.createDirectories(directory.resolve("a"));
+        Files.createDirectories(directory.resolve("b"));
+        Files.writeString(directory.resolve("a/klas.csv"), TestRosters.csv(8));
+        Files.writeString(directory.resolve("b/klas.csv"), TestRosters.csv(9));
+        Path output = directory.resolve("groups");
+
+        String error = error("batch", "-g", "4", "-o", output.toString(),
+                directory.resolve("a").toString(), directory.resolve("b").toString());
+        assertTrue(error.startsWith("Students files " + directory.resolve("a/klas.csv")
+                + " and " + directory.resolve("b/klas.csv") + " would both be written to "
+                + output.resolve("klas.csv.groups.txt") + "."), error);
+        assertFalse(Files.exists(output));
+
+        // Next to each students file, the names do not collide
+        assertEquals(0, new CommandLine(new ClassDividerCLI()).execute("batch", "-g", "4",
+                directory.resolve("a").toString(), directory.resolve("b").toString()));
+        assertTrue(Files.exists(directory.resolve("b/klas.csv.groups.txt")));
+    }
+
+    /**
+     * Test that batch reports a group size or deviation that is not valid with the same
+     * messages as the single class command.
+     */
+    @Test
+    public void testBatchDivisionErrors() throws IOException {
+        Path file = directory.resolve("a.csv");
+        Files.writeString(file, TestRosters.csv(8));
+
+        String students = file.toString();
+        String groupSize = error("-g", "0", students);
+        assertTrue(groupSize.startsWith("group size must be a positive integer number."));
+        assertEquals(groupSize.lines().findFirst(),
+                error("batch", "-g", "0", students).lines().findFirst());
+
+        String deviation = error("-g", "4", "-d", "4", students);
+        assertTrue(deviation.startsWith("deviation must be a positive number smaller"));
+        assertEquals(deviation.lines().findFirst(),
+                error("batch", "-g", "4", "-d", "4", students).lines().findFirst());
+    }
+
+    // The error output of the command.
+    private static String error(String... args) {
+        StringWriter error = new StringWriter();
+        new CommandLine(new ClassDividerCLI()).setErr(new PrintWriter(error)).execute(args);
+        return error.toString();
+    }
+
+    /**
+     * Test that glob patterns select the students files to divide.
+     */
+    @Test
+    public void testBatchGlob() throws IOException {
+        Files.writeString(directory.resolve("a.csv"), TestRosters.csv(8));
+        Files.writeString(directory.resolve("b.lst"), TestRosters.csv(2));
+
+        int exitCode = new CommandLine(new ClassDividerCLI())
+                .execute("batch", "-g", "4", directory.resolve("*.csv").toString());
+
+        assertEquals(0, exitCode);
+        assertTrue(Files.exists(directory.resolve("a.csv.groups.txt")));
+        assertFalse(Files.exists(directory.resolve("b.lst.groups.txt")));
+        assertEquals(List.of(directory.resolve("a.csv")),
+                RosterFiles.find(List.of(directory + "/*.csv"), "*"));
+    }
+
+    /**
+     * Test that with a seed, batch divides every class like the single class command.
+     */
+    @Test
+    public void testBatchSeed() throws IOException {
+        Files.writeString(directory.resolve("a.csv"), TestRosters.csv(23));
+        Path single = directory.resolve("single.txt");
+
+        new CommandLine(new ClassDividerCLI()).execute("batch", "-g", "4", "--seed", "42",
+                directory.resolve("a.csv").toString());
+        new CommandLine(new ClassDividerCLI()).execute("-g", "4", "--seed", "42",
+                "-o", single.toString(), directory.resolve("a.csv").toString());
+
+        assertEquals(Files.readString(single),
+                Files.readString(directory.resolve("a.csv.groups.txt")));
+    }
+
+}
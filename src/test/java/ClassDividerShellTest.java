@@ -0,0 +1,66 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class ClassDividerShell.
+ */
+public class ClassDividerShellTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testWords() {
+        assertEquals(List.of(), ClassDividerShell.words("   "));
+        assertEquals(List.of("divide", "-g", "4", "students.lst"),
+                ClassDividerShell.words(" divide  -g 4\tstudents.lst "));
+        assertEquals(List.of("divide", "-o", "my groups.txt", ""),
+                ClassDividerShell.words("divide -o \"my groups.txt\" \"\""));
+    }
+
+    @Test
+    public void testRun() throws Exception {
+        Path students = directory.resolve("class.csv");
+        Files.copy(Path.of("students.lst"), students);
+        Path first = directory.resolve("first.txt");
+        Path second = directory.resolve("second groups.txt");
+        String commands = """
+                help
+
+                divide -g 4 -s 7 -o %s %s
+                divide -g 4 -s 7 -o "%s" %s
+                cache
+                shout
+                exit
+                cache
+                """.formatted(first, students, second, students);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RosterCache rosters = new RosterCache(RosterCache.DEFAULT_STUDENTS);
+        ClassDividerShell.run(new BufferedReader(new StringReader(commands)),
+                new PrintStream(bytes, true, StandardCharsets.UTF_8), rosters, false);
+
+        // The second division reads the class from the cache, and gives the same groups
+        assertEquals(Files.readString(first), Files.readString(second));
+        assertEquals(1, rosters.stats().hits());
+        assertEquals(1, rosters.stats().misses());
+
+        String output = bytes.toString(StandardCharsets.UTF_8);
+        assertTrue(output.startsWith("Commands:"));
+        assertTrue(output.contains("1 hits, 1 misses, 0 evictions; 1 students files with "
+                + "46 students cached."));
+        assertTrue(output.contains("Unknown command 'shout'"));
+        // Nothing runs after exit
+        assertEquals(output.indexOf(" hits,"), output.lastIndexOf(" hits,"));
+    }
+}
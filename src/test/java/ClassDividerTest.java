@@ -2,6 +2,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -39,8 +40,8 @@ public class ClassDividerTest {
     }
 
     @Test
-    public void testGrouping() {
-        classDivider.grouping();
+    public void testDivide() {
+        classDivider.divide();
         List<Group<Student>> groups = classDivider.getGroupSet();
         assertEquals(2, groups.size());
 
@@ -49,58 +50,72 @@ public class ClassDividerTest {
 
         assertEquals(2, group1.size());
         assertEquals(2, group2.size());
+
+        assertTrue(uniqueFirstName.containsKey("Mitko"));
+        assertTrue(uniqueFirstName.containsKey("Sam"));
+        assertTrue(uniqueFirstName.containsKey("Emilyana"));
+        assertTrue(uniqueFirstName.containsKey("Krustio"));
     }
 
     @Test
-    public void testIfMethod() {
-        // Adjust the setup to have overflow
-        students.add(new Student("Mishel", "Rioder", "3578909"));
-        klas.add(new Student("Martina", "Markova", "1942026"));
-        classDivider = new ClassDivider(2, 1, klas, uniqueFirstName);
-        classDivider.grouping();
-        classDivider.ifMethod();
-
-        List<Group<Student>> groups = classDivider.getGroupSet();
-        assertEquals(2, groups.size()); // One group for overflow
-
-        Group<Student> overflowGroup = groups.get(1);
-        assertEquals(2, overflowGroup.size()); // Only one overflow student
+    public void testDivideOwnGenerator() {
+        // Dividing with its own generator leaves the shared generator untouched
+        Group.setRandomSeed(7);
+        int expected = Group.random().nextInt();
+        Group.setRandomSeed(7);
+        classDivider = new ClassDivider(2, 1, klas, uniqueFirstName, new SplittableRandom(1));
+        classDivider.divide();
+        assertEquals(2, classDivider.getGroupSet().size());
+        assertEquals(4, uniqueFirstName.size());
+        assertEquals(expected, Group.random().nextInt());
     }
 
     @Test
-    public void testElseMethod() {
-        // Adjust the setup to have overflow and specific deviation handling
-        students.add(new Student("Kosta", "Conev", "1678543"));
-        students.add(new Student("Hil", "Smith", "9776547"));
-        klas.add(new Student("Kosta", "Conev", "1678543"));
-        klas.add(new Student("Hil", "Smith", "9776547"));
-        classDivider = new ClassDivider(2, 1, klas, uniqueFirstName);
-        classDivider.grouping();
-        classDivider.elseMethod();
-
-        List<Group<Student>> groups = classDivider.getGroupSet();
-        assertEquals(4, groups.size()); // One group for overflow
+    public void testDivideTable() {
+        // Class size, group size and deviation
+        int[][] cases = {{23, 4, 1}, {26, 4, 1}, {11, 4, 1}, {15, 6, 2}, {12, 3, 0}};
+        for (int[] c : cases) {
+            StudentTable table = new StudentTable();
+            Group<Student> group = new Group<>();
+            for (int i = 0; i < c[0]; i++) {
+                Student student = new Student("First" + i, "Last" + i, Integer.toString(1000 + i));
+                table.add(student);
+                group.add(student);
+            }
+            assertDividedLike(group, table, c[1], c[2]);
+        }
+    }
 
-        Group<Student> overflowGroup = groups.get(2);
-        assertTrue(overflowGroup.size() <= 2); // Handle overflow within the deviation
+    // Dividing table gives all students once, in groups of the same sizes as dividing group
+    private static void assertDividedLike(Group<Student> klas, StudentTable table,
+            int groupSize, int deviation) {
+        ClassDivider divider = new ClassDivider(groupSize, deviation, klas, new HashMap<>());
+        divider.divide();
+        List<Integer> expected = divider.getGroupSet().stream().map(Group::size).toList();
+
+        List<int[]> groups = ClassDivider.divide(table, groupSize, deviation);
+        assertEquals(expected, groups.stream().map(g -> g.length).toList());
+
+        boolean[] seen = new boolean[table.size()];
+        for (int[] group : groups) {
+            for (int row : group) {
+                assertFalse(seen[row]);
+                seen[row] = true;
+            }
+        }
+        assertEquals(table.size(), groups.stream().mapToInt(g -> g.length).sum());
     }
 
     @Test
-    public void testDivide() {
+    public void testDivideWithoutDeviation() {
+        classDivider = new ClassDivider(2, 0, klas, uniqueFirstName);
         classDivider.divide();
-        List<Group<Student>> groups = classDivider.getGroupSet();
-        assertEquals(2, groups.size());
-
-        Group<Student> group1 = groups.get(0);
-        Group<Student> group2 = groups.get(1);
+        assertEquals(List.of(2, 2), classDivider.getGroupSet().stream().map(Group::size).toList());
 
-        assertEquals(2, group1.size());
-        assertEquals(2, group2.size());
-
-        assertTrue(uniqueFirstName.containsKey("Mitko"));
-        assertTrue(uniqueFirstName.containsKey("Sam"));
-        assertTrue(uniqueFirstName.containsKey("Emilyana"));
-        assertTrue(uniqueFirstName.containsKey("Krustio"));
+        klas.add(new Student("Mishel", "Rioder", "3578909"));
+        ClassDivider odd = new ClassDivider(2, 0, klas, uniqueFirstName);
+        assertTrue(odd.conditions());
+        assertThrows(IllegalArgumentException.class, odd::divide);
     }
 
     @Test
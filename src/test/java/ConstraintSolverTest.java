@@ -0,0 +1,109 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class ConstraintSolver.
+ */
+public class ConstraintSolverTest {
+
+    private static final DivisionParameters PARAMETERS = new DivisionParameters(4, 1);
+
+    private List<String> unmet;
+
+    // Divide a class of students with IDs 0 up to size, returning the group of each ID.
+    private Map<String, Integer> solve(int size, Constraints constraints) {
+        ConstraintSolver solver = new ConstraintSolver(size, Integer::toString, PARAMETERS,
+                new SplittableRandom(1), Duration.ofSeconds(5));
+        Division division = solver.solve(constraints,
+                row -> new Student("First" + row, "Last" + row, Integer.toString(row)));
+        unmet = solver.unmet();
+
+        assertEquals(size, division.studentCount());
+        Map<String, Integer> groupOf = new HashMap<>();
+        for (int group = 0; group < division.groupCount(); group++) {
+            Set<Student> students = division.group(group);
+            assertTrue(3 <= students.size() && students.size() <= 5,
+                    "group of " + students.size());
+            for (Student student : students) {
+                assertNull(groupOf.put(student.id(), group));
+            }
+        }
+        return groupOf;
+    }
+
+    /**
+     * Test that many random constraints on a large class are all met.
+     */
+    @Test
+    public void testSolveLargeClass() {
+        final int size = 5_000;
+        List<List<String>> together = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            together.add(List.of(Integer.toString(10 * i), Integer.toString(10 * i + 1)));
+        }
+        List<List<String>> apart = apart(size, 3_000);
+
+        Map<String, Integer> solved = solve(size, new Constraints(together, apart));
+        assertEquals(List.of(), unmet);
+        for (List<String> ids : together) {
+            assertEquals(solved.get(ids.get(0)), solved.get(ids.get(1)));
+        }
+        for (List<String> ids : apart) {
+            assertEquals(ids.size(), ids.stream().map(solved::get).distinct().count());
+        }
+    }
+
+    // Random sets of three IDs, none ending in 1, so that no pair kept together is also
+    // kept apart.
+    private static List<List<String>> apart(int size, int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<List<String>> apart = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            apart.add(List.of(Integer.toString(10 * random.nextInt(size / 10)),
+                    Integer.toString(10 * random.nextInt(size / 10) + 2),
+                    Integer.toString(10 * random.nextInt(size / 10) + 5)));
+        }
+        return apart;
+    }
+
+    /**
+     * Test that constraints that cannot be met are reported, within the size bounds.
+     */
+    @Test
+    public void testSolveUnmet() {
+        Map<String, Integer> groupOf = solve(20, new Constraints(
+                List.of(List.of("0", "1", "2", "3", "4", "5"), List.of("6", "7")),
+                List.of(List.of("6", "7"), List.of("8", "unknown"))));
+        assertEquals(3, unmet.size(), unmet.toString());
+        assertTrue(unmet.get(0).contains("0, 1, 2, 3, 4, 5"));
+        assertTrue(unmet.get(1).contains("unknown"));
+        assertTrue(unmet.get(2).contains("6 and 7"));
+        assertEquals(groupOf.get("6"), groupOf.get("7"));
+
+        // Everyone apart, with fewer groups than students
+        solve(10, new Constraints(List.of(),
+                List.of(List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"))));
+        assertFalse(unmet.isEmpty());
+    }
+
+    /**
+     * Test that a group that is too small is filled by splitting units.
+     */
+    @Test
+    public void testSolveSplitsUnits() {
+        // Two groups of at least 3, but units of 5 and 1
+        Map<String, Integer> groupOf = solve(6, new Constraints(
+                List.of(List.of("0", "1", "2", "3", "4")), List.of()));
+        assertEquals(1, unmet.size(), unmet.toString());
+        assertEquals(2, Set.copyOf(groupOf.values()).size());
+    }
+
+}
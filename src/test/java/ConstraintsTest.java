@@ -0,0 +1,30 @@
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class Constraints.
+ */
+public class ConstraintsTest {
+
+    /**
+     * Test of of method, of class Constraints.
+     */
+    @Test
+    public void testOf() throws Exception {
+        Constraints constraints = Constraints.of(new StringReader(
+                "# lab partners\ntogether,232112,232113\n\napart, 232112 ,232114,232115\n"));
+        assertEquals(List.of(List.of("232112", "232113")), constraints.together());
+        assertEquals(List.of(List.of("232112", "232114", "232115")), constraints.apart());
+        assertFalse(constraints.isEmpty());
+
+        assertTrue(Constraints.of(new StringReader("")).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> Constraints.of(new StringReader("together,232112\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> Constraints.of(new StringReader("near,232112,232113\n")));
+    }
+
+}
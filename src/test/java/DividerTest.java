@@ -0,0 +1,124 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class Divider.
+ */
+public class DividerTest {
+
+    private static final int THREADS = 8;
+    private static final int DIVISIONS = 200;
+    private static final DivisionParameters PARAMETERS = new DivisionParameters(4, 1);
+
+    private static Group<Student> klas(int size) throws IOException {
+        // Every tenth student shares a first name with another one
+        return StudentsFile.fromCSV(
+                TestRosters.csv(size, 1000, i -> i % 10 == 0 ? "Shared" : "First" + i));
+    }
+
+    private static StudentTable table(Group<Student> klas) {
+        StudentTable table = new StudentTable();
+        for (Student student : klas.toArray(new Student[0])) {
+            table.add(student);
+        }
+        return table;
+    }
+
+    // Divide klas, or table if it is not null, once for every seed.
+    private static List<List<?>> divideAll(Divider divider, Group<Student> klas,
+            StudentTable table) {
+        List<List<?>> results = new ArrayList<>();
+        for (int seed = 0; seed < DIVISIONS; seed++) {
+            results.add(table != null
+                    ? divider.divide(table, PARAMETERS, seed).groups()
+                    : divider.divide(klas, PARAMETERS, seed).groups());
+        }
+        return results;
+    }
+
+    @Test
+    public void testDivideIsDeterministicForSeed() throws IOException {
+        Divider divider = new Divider();
+        Group<Student> klas = klas(103);
+
+        DivisionResult result = divider.divide(klas, PARAMETERS, 42);
+        assertEquals(result.groups(), divider.divide(klas, PARAMETERS, 42).groups());
+        assertNotEquals(result.groups(), divider.divide(klas, PARAMETERS, 43).groups());
+
+        assertEquals(klas.size(), result.groups().stream().mapToInt(g -> g.size()).sum());
+        assertFalse(result.uniqueFirstName().get("Shared"));
+        assertTrue(result.uniqueFirstName().get("First1"));
+    }
+
+    @Test
+    public void testDivideRosterLikeGroup() throws IOException {
+        Group<Student> klas = klas(57);
+        StudentTable table = table(klas);
+
+        DivisionResult fromGroup = new Divider().divide(klas, PARAMETERS, 7);
+        DivisionResult fromTable = new Divider().divide(table, PARAMETERS, 7);
+        assertEquals(fromGroup.groups(), fromTable.groups());
+        assertEquals(fromGroup.uniqueFirstName(), fromTable.uniqueFirstName());
+    }
+
+    @Test
+    public void testResultIsImmutable() throws IOException {
+        DivisionResult result = new Divider().divide(klas(8), PARAMETERS, 1);
+        Map<String, Boolean> unique = result.uniqueFirstName();
+
+        assertThrows(UnsupportedOperationException.class, () -> unique.put("Other", true));
+        assertThrows(UnsupportedOperationException.class, () -> result.groups().remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> result.groups().get(0).clear());
+    }
+
+    @Test
+    public void testParametersAreValidated() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new DivisionParameters(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DivisionParameters(4, 4));
+        assertThrows(IllegalArgumentException.class, () -> new DivisionParameters(4, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Divider().divide(klas(2), PARAMETERS, 1));
+    }
+
+    /**
+     * Stress test: many threads sharing one divider and one class get exactly the
+     * divisions a single thread gets for the same seeds.
+     */
+    @Test
+    public void testConcurrentDivisions() throws Exception {
+        Divider divider = new Divider();
+        Group<Student> klas = klas(1001);
+        StudentTable table = table(klas);
+        List<List<?>> expected = divideAll(divider, klas, null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<List<?>>>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                // Half of the threads divide the class as a roster
+                StudentTable roster = t % 2 == 1 ? table : null;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    return divideAll(divider, klas, roster);
+                }));
+            }
+            start.countDown();
+
+            for (Future<List<List<?>>> task : tasks) {
+                assertEquals(expected, task.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
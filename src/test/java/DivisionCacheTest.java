@@ -0,0 +1,73 @@
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class DivisionCache.
+ */
+public class DivisionCacheTest {
+
+    private static final DivisionParameters PARAMETERS = new DivisionParameters(2, 0);
+
+    private static DivisionCache.Key key(String content, long seed) {
+        return new DivisionCache.Key(DivisionCache.hash(content.getBytes()), PARAMETERS, seed);
+    }
+
+    private static DivisionResult divide(String csv, long seed) throws IOException {
+        return new Divider().divide(StudentsFile.fromCSV(csv), PARAMETERS, seed);
+    }
+
+    @Test
+    public void testHitsAndMisses() throws IOException {
+        DivisionCache cache = DivisionCache.ofEntries(10);
+        AtomicInteger computed = new AtomicInteger();
+        String csv = TestRosters.csv(4);
+
+        DivisionResult first = cache.get(key(csv, 1), () -> {
+            computed.incrementAndGet();
+            return divide(csv, 1);
+        });
+        DivisionResult second = cache.get(key(csv, 1), () -> {
+            computed.incrementAndGet();
+            return divide(csv, 1);
+        });
+        cache.get(key(csv, 2), () -> divide(csv, 2));
+
+        assertSame(first, second);
+        assertEquals(1, computed.get());
+        assertEquals(new DivisionCache.Stats(1, 2, 0, 2, 2), cache.stats());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws IOException {
+        DivisionCache cache = DivisionCache.ofStudents(10);
+        String small = TestRosters.csv(4);
+        String large = TestRosters.csv(6);
+
+        cache.get(key(small, 1), () -> divide(small, 1));
+        cache.get(key(small, 2), () -> divide(small, 2));
+        cache.get(key(small, 1), () -> fail("cached"));
+        // Adding 6 students to the 8 cached ones evicts the least recently used result
+        cache.get(key(large, 1), () -> divide(large, 1));
+
+        assertEquals(new DivisionCache.Stats(1, 3, 1, 2, 10), cache.stats());
+        cache.get(key(small, 1), () -> fail("cached"));
+        assertNotSame(null, cache.get(key(small, 2), () -> divide(small, 2)));
+        assertEquals(4, cache.stats().misses());
+
+        // A result heavier than the capacity is not cached
+        String huge = TestRosters.csv(12);
+        cache.get(key(huge, 1), () -> divide(huge, 1));
+        assertEquals(2, cache.stats().entries());
+    }
+
+    @Test
+    public void testFailedComputationIsNotCached() {
+        DivisionCache cache = DivisionCache.ofEntries(10);
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.get(key(TestRosters.csv(3), 1), () -> divide(TestRosters.csv(3), 1)));
+        assertEquals(0, cache.stats().entries());
+    }
+}
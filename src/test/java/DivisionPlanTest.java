@@ -0,0 +1,67 @@
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in record DivisionPlan.
+ */
+public class DivisionPlanTest {
+
+    /**
+     * Test that a plan exists exactly when some number of groups fits the class, and that
+     * every planned group is within bounds.
+     */
+    @Test
+    public void testOfAgainstSearch() {
+        for (int groupSize = 1; groupSize <= 8; groupSize++) {
+            for (int deviation = 0; deviation < groupSize; deviation++) {
+                for (int classSize = 0; classSize <= 100; classSize++) {
+                    assertPlan(classSize, groupSize, deviation);
+                }
+            }
+        }
+    }
+
+    // Search all numbers of groups for one that fits the class.
+    private static boolean fits(int classSize, int groupSize, int deviation) {
+        boolean feasible = false;
+        for (int groups = 0; groups <= classSize; groups++) {
+            feasible |= groups * (groupSize - deviation) <= classSize
+                    && classSize <= groups * (groupSize + deviation);
+        }
+        return feasible;
+    }
+
+    private static void assertPlan(int classSize, int groupSize, int deviation) {
+        boolean feasible = fits(classSize, groupSize, deviation);
+        assertEquals(feasible, DivisionPlan.isFeasible(classSize, groupSize, deviation));
+        if (!feasible) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> DivisionPlan.of(classSize, groupSize, deviation));
+            return;
+        }
+
+        int[] sizes = DivisionPlan.of(classSize, groupSize, deviation).sizes();
+        for (int size : sizes) {
+            assertTrue(Math.abs(size - groupSize) <= deviation);
+            assertTrue(sizes[0] - size <= 1);
+        }
+        assertEquals(classSize, Arrays.stream(sizes).sum());
+    }
+
+    @Test
+    public void testOfNearestNumberOfGroups() {
+        assertEquals(new DivisionPlan(6, 4, 2), DivisionPlan.of(26, 4, 1));
+        assertEquals(new DivisionPlan(3, 3, 2), DivisionPlan.of(11, 4, 1));
+        assertEquals(new DivisionPlan(1, 5, 0), DivisionPlan.of(5, 4, 1));
+        assertEquals(new DivisionPlan(0, 0, 0), DivisionPlan.of(0, 4, 1));
+        assertArrayEquals(new int[] {5, 5, 4, 4, 4, 4}, DivisionPlan.of(26, 4, 1).sizes());
+    }
+
+    @Test
+    public void testOfInvalidDeviation() {
+        assertThrows(IllegalArgumentException.class, () -> DivisionPlan.of(10, 4, 4));
+        assertThrows(IllegalArgumentException.class, () -> DivisionPlan.of(10, 4, -1));
+    }
+}
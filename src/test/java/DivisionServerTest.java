@@ -0,0 +1,178 @@
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test DivisionServer against localhost.
+ */
+public class DivisionServerTest {
+
+    private static final String CSV = """
+            first name,last name,ID
+            Huub,de Beer,1
+            Jan,Jansens,2
+            Jan,van Dijk,3
+            Anna,Smit,4
+            Bob,"Bakker, de",5
+            """;
+
+    @TempDir
+    Path directory;
+
+    private DivisionServer server;
+    private HttpClient client;
+
+    /**
+     * Start a server on a free port of localhost.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = DivisionServer.start(new InetSocketAddress("localhost", 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> post(String query, String type, byte[] body)
+            throws IOException, InterruptedException {
+        URI uri = URI.create("http://localhost:%d/divide?%s"
+                .formatted(server.address().getPort(), query));
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Content-Type", type)
+                .POST(BodyPublishers.ofByteArray(body)).build();
+        return client.send(request, BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testDivideJson() throws Exception {
+        HttpResponse<String> response = post("groupSize=2&seed=42", "text/csv", CSV.getBytes());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("42", response.headers().firstValue("X-Seed").orElseThrow());
+        assertTrue(response.body().startsWith("{\"groups\":[["));
+        assertTrue(response.body().contains("{\"name\":\"Jan J\",\"firstName\":\"Jan\","
+                + "\"lastName\":\"Jansens\",\"id\":\"2\"}"));
+        assertTrue(response.body().contains("\"name\":\"Huub\""));
+
+        // The same seed gives the same groups
+        assertEquals(response.body(),
+                post("groupSize=2&seed=42", "text/csv", CSV.getBytes()).body());
+    }
+
+    @Test
+    public void testDivideCsvFromSnapshot() throws Exception {
+        Path file = directory.resolve("students.csv");
+        Path snapshot = directory.resolve("students.snapshot");
+        Files.writeString(file, CSV);
+        StudentsSnapshot.load(file, snapshot);
+
+        HttpResponse<String> response = post("groupSize=2&deviation=1&seed=1&format=csv",
+                "application/octet-stream", Files.readAllBytes(snapshot));
+
+        assertEquals(200, response.statusCode());
+        assertEquals(6, response.body().lines().count());
+        assertEquals("group,first name,last name,ID", response.body().lines().findFirst().get());
+        assertTrue(response.body().contains(",Bob,\"Bakker, de\",5"));
+    }
+
+    @Test
+    public void testRepeatedDivisionIsCached() throws Exception {
+        String first = post("groupSize=2&seed=7", "text/csv", CSV.getBytes()).body();
+        String csv = post("groupSize=2&seed=7&format=csv", "text/csv", CSV.getBytes()).body();
+        post("groupSize=2", "text/csv", CSV.getBytes());
+
+        assertEquals(first, post("groupSize=2&seed=7", "text/csv", CSV.getBytes()).body());
+        assertTrue(csv.startsWith("group,"));
+        assertEquals(new DivisionCache.Stats(2, 1, 0, 1, 5), server.cache().stats());
+    }
+
+    @Test
+    public void testInvalidRequests() throws Exception {
+        assertEquals(400, post("deviation=1", "text/csv", CSV.getBytes()).statusCode());
+        assertEquals(400, post("groupSize=4&deviation=0", "text/csv", CSV.getBytes())
+                .statusCode());
+        assertEquals(400, post("groupSize=2&format=xml", "text/csv", CSV.getBytes())
+                .statusCode());
+        assertEquals(400, post("groupSize=2", "application/octet-stream", CSV.getBytes())
+                .statusCode());
+        // A quoted field followed by other characters
+        HttpResponse<String> malformed = post("groupSize=2", "text/csv",
+                (CSV + "\"x\"y,1,6\n").getBytes());
+        assertEquals(400, malformed.statusCode());
+        assertTrue(malformed.body().contains("invalid char between encapsulated token"),
+                malformed.body());
+
+        // A crafted snapshot with a valid checksum and a huge number of students
+        Path file = directory.resolve("students.csv");
+        Path snapshot = directory.resolve("students.snapshot");
+        Files.writeString(file, CSV);
+        StudentsSnapshot.load(file, snapshot);
+        byte[] tampered = StudentsSnapshotTest.tampered(Files.readAllBytes(snapshot), 12,
+                Integer.MAX_VALUE).array();
+        HttpResponse<String> response = post("groupSize=2&seed=1", "application/octet-stream",
+                tampered);
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().startsWith("Not a valid students snapshot."));
+
+        HttpRequest get = HttpRequest.newBuilder(URI.create("http://localhost:%d/divide"
+                .formatted(server.address().getPort()))).build();
+        assertEquals(405, client.send(get, BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    public void testMaxBody() throws Exception {
+        DivisionServer small = DivisionServer.start(new InetSocketAddress("localhost", 0),
+                DivisionCache.ofStudents(0), CSV.length() - 1);
+        try {
+            URI uri = URI.create("http://localhost:%d/divide?groupSize=2"
+                    .formatted(small.address().getPort()));
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .POST(BodyPublishers.ofString(CSV)).build();
+            HttpResponse<String> response = client.send(request, BodyHandlers.ofString());
+            assertEquals(413, response.statusCode());
+            assertEquals("Request body is larger than %d bytes.\n"
+                    .formatted(CSV.length() - 1), response.body());
+
+            // Without Content-Length, the body is read up to the maximum
+            HttpRequest chunked = HttpRequest.newBuilder(uri).POST(BodyPublishers
+                    .ofInputStream(() -> new ByteArrayInputStream(CSV.getBytes()))).build();
+            assertEquals(413, client.send(chunked, BodyHandlers.ofString()).statusCode());
+
+            HttpRequest shorter = HttpRequest.newBuilder(uri)
+                    .POST(BodyPublishers.ofString(CSV.substring(0, CSV.length() - 1)))
+                    .build();
+            assertEquals(200, client.send(shorter, BodyHandlers.ofString()).statusCode());
+        } finally {
+            small.stop(0);
+        }
+    }
+
+    @Test
+    public void testStats() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            post("groupSize=2", "text/csv", CSV.getBytes());
+        }
+        assertEquals(3, server.latencies().count());
+
+        HttpRequest get = HttpRequest.newBuilder(URI.create("http://localhost:%d/stats"
+                .formatted(server.address().getPort()))).build();
+        String stats = client.send(get, BodyHandlers.ofString()).body();
+        assertTrue(stats.startsWith("{\"requests\":3,\"p50Millis\":"));
+    }
+}
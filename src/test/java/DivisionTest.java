@@ -0,0 +1,77 @@
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class Division.
+ */
+public class DivisionTest {
+
+    private static Group<Student> klas(int size) {
+        Group<Student> klas = new Group<>();
+        for (int i = 0; i < size; i++) {
+            klas.add(new Student("First" + i, "Last" + i, Integer.toString(1000 + i)));
+        }
+        return klas;
+    }
+
+    /**
+     * Test that every student is in exactly one group of the planned size.
+     */
+    @Test
+    public void testOfGroup() {
+        Group<Student> klas = klas(26);
+        Division division = Division.of(klas, 4, 1);
+
+        assertEquals(6, division.groupCount());
+        assertEquals(List.of(5, 5, 4, 4, 4, 4),
+                division.groups().stream().map(Set::size).toList());
+
+        Set<Student> seen = new HashSet<>();
+        for (Set<Student> group : division.groups()) {
+            for (Student student : group) {
+                assertTrue(group.contains(student));
+                assertTrue(seen.add(student));
+            }
+        }
+        assertEquals(new HashSet<>(klas), seen);
+    }
+
+    /**
+     * Test that the groups of a roster division match its rows.
+     */
+    @Test
+    public void testOfRoster() {
+        StudentTable table = new StudentTable();
+        klas(11).forEach(table::add);
+        Division division = Division.of(table, 4, 1);
+
+        for (int g = 0; g < division.groupCount(); g++) {
+            Set<Student> expected = new HashSet<>();
+            for (int row : division.rows(g)) {
+                expected.add(table.get(row));
+            }
+            assertEquals(expected, division.group(g));
+        }
+    }
+
+    @Test
+    public void testGroupsAreReadOnly() {
+        Division division = Division.of(klas(8), 4, 1);
+        Set<Student> group = division.group(0);
+        Student student = group.iterator().next();
+
+        assertThrows(UnsupportedOperationException.class, () -> group.remove(student));
+        assertThrows(UnsupportedOperationException.class, () -> group.add(student));
+        assertThrows(UnsupportedOperationException.class, () -> division.groups().clear());
+        assertThrows(IndexOutOfBoundsException.class, () -> division.group(2));
+    }
+
+    @Test
+    public void testOfInfeasible() {
+        assertThrows(IllegalArgumentException.class, () -> Division.of(klas(2), 4, 1));
+    }
+}
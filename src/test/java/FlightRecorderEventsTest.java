@@ -0,0 +1,107 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the Java Flight Recorder events RosterLoadEvent, DivisionEvent and RenderEvent
+ * by reading a local recording.
+ */
+public class FlightRecorderEventsTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testEvents() throws Exception {
+        Path file = directory.resolve("students.csv");
+        Files.writeString(file, TestRosters.csv(30));
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RosterLoadEvent.NAME);
+            recording.enable(DivisionEvent.NAME);
+            recording.enable(RenderEvent.NAME);
+            recording.start();
+
+            Group<Student> klas = StudentsFile.fromCSV(file);
+            DivisionResult result = new Divider().divide(klas, new DivisionParameters(4, 1), 1);
+            GroupsRenderer.of("json").render(result, directory.resolve("groups.json"));
+
+            recording.stop();
+            events = read(recording);
+        }
+
+        RecordedEvent load = only(events, RosterLoadEvent.NAME);
+        assertEquals(file.toString(), load.getString("path"));
+        assertEquals(30, load.getInt("rows"));
+        assertEquals(Files.size(file), load.getLong("bytes"));
+        assertEquals(1, load.getInt("parallelism"));
+        assertFalse(load.getDuration().isNegative());
+
+        // 30 students in 7 groups of 4 or 5
+        RecordedEvent division = only(events, DivisionEvent.NAME);
+        assertEquals(30, division.getInt("students"));
+        assertEquals(7, division.getInt("groups"));
+        assertEquals(DivisionEvent.LARGER, division.getString("overflow"));
+        assertEquals(0, division.getInt("moves"));
+
+        RecordedEvent render = only(events, RenderEvent.NAME);
+        assertEquals("JsonGroupsRenderer", render.getString("renderer"));
+        assertEquals(7, render.getInt("groups"));
+        assertEquals(30, render.getInt("students"));
+    }
+
+    @Test
+    public void testRebalanceMoves() throws Exception {
+        List<Student> students = List.copyOf(StudentsFile.fromCSV(TestRosters.csv(5)));
+        // Groups of 3 and 2 students; when one of the 2 leaves, 1 student moves over
+        IncrementalDivision division = new IncrementalDivision(
+                List.of(students.subList(0, 3), students.subList(3, 5)),
+                new DivisionParameters(3, 1), new SplittableRandom(1));
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(DivisionEvent.NAME);
+            recording.start();
+            division.apply(List.of(), List.of(students.get(3)));
+            recording.stop();
+            events = read(recording);
+        }
+
+        RecordedEvent event = only(events, DivisionEvent.NAME);
+        assertEquals(4, event.getInt("students"));
+        assertEquals(2, event.getInt("groups"));
+        assertEquals(DivisionEvent.REBALANCED, event.getString("overflow"));
+        assertEquals(1, event.getInt("moves"));
+    }
+
+    @Test
+    public void testDisabled() {
+        // Without a recording, events are disabled and their fields are never filled in
+        assertFalse(RosterLoadEvent.start().shouldCommit());
+        assertFalse(DivisionEvent.start().shouldCommit());
+        assertFalse(RenderEvent.start().shouldCommit());
+    }
+
+    private List<RecordedEvent> read(Recording recording) throws Exception {
+        Path dump = Files.createTempFile(directory, "recording", ".jfr");
+        recording.dump(dump);
+        return RecordingFile.readAllEvents(dump);
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> named = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, named.size(), name);
+        return named.get(0);
+    }
+}
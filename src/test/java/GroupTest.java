@@ -1,8 +1,12 @@
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -68,6 +72,35 @@ public class GroupTest {
         assertEquals(2, group.pick());
     }
 
+    /**
+     * Test that picking stays cheap after removing most members, because removed slots
+     * are compacted away: counts the random numbers drawn instead of timing.
+     */
+    @Test
+    public void testPick_AfterRemove() {
+        final int size = 10_000;
+        SplittableRandom random = new SplittableRandom(1);
+        long[] draws = new long[1];
+        RandomGenerator counting = () -> {
+            draws[0]++;
+            return random.nextLong();
+        };
+
+        Group<Integer> group = new Group<>(counting);
+        for (int i = 0; i < size; i++) {
+            group.add(i);
+        }
+        for (int i = 1; i < size; i++) {
+            assertTrue(group.remove(i));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(0, group.pick());
+        }
+        // At most half of the slots are removed, so about 2 draws per pick; without
+        // compaction, a pick would take about size draws
+        assertTrue(draws[0] < 4 * 1_000, draws[0] + " draws");
+    }
+
     /**
      * Test of toString method, of class Group.
      */
@@ -145,6 +178,55 @@ public class GroupTest {
         assertEquals(vals1, vals2);
     }
 
+    /**
+     * Test that groups with their own generator are deterministic for its seed, whatever
+     * the shared generator does.
+     */
+    @Test
+    public void testOwnRandomGenerator() {
+        Group<Integer> group1 = new Group<>(new SplittableRandom(7));
+        Group<Integer> group2 = new Group<>(new SplittableRandom(7));
+        for (int i = 0; i < 100; i++) {
+            group1.add(i);
+            group2.add(i);
+        }
+
+        List<Integer> vals1 = new ArrayList<>();
+        group1.iterator().forEachRemaining(vals1::add);
+        Group.setRandomSeed(11);
+        Group.random().nextInt();
+        List<Integer> vals2 = new ArrayList<>();
+        group2.iterator().forEachRemaining(vals2::add);
+
+        assertEquals(vals1, vals2);
+        assertEquals(group1.pick(), group2.pick());
+    }
+
+    /**
+     * Test that the iterator visits every member exactly once.
+     */
+    @Test
+    public void testIteratorVisitsAllMembers() {
+        Group<Integer> group = new Group<>();
+        for (int i = 0; i < 1000; i++) {
+            group.add(i);
+        }
+        group.removeAll(List.of(3, 500, 999));
+
+        List<Integer> visited = new ArrayList<>();
+        group.iterator().forEachRemaining(visited::add);
+
+        assertAll(
+                () -> assertEquals(group.size(), visited.size()),
+                () -> assertTrue(group.containsAll(visited)),
+                () -> assertEquals(group.size(), Set.copyOf(visited).size())
+        );
+
+        Iterator<Integer> iter = group.iterator();
+        group.add(1000);
+        assertThrows(ConcurrentModificationException.class, iter::next);
+    }
+
     /**
      * Test of addAll method, of class Group.
      */
@@ -204,6 +286,41 @@ public class GroupTest {
         assertFalse(group.containsAll(List.of(0, 1, 2, 3)));
     }
 
+    /**
+     * Test that adding compares each new member with a bounded number of members, rather
+     * than with all of them: counts calls of equals instead of timing.
+     */
+    @Test
+    public void testAdd_Comparisons() {
+        final int size = 10_000;
+        long[] comparisons = new long[1];
+        Group<Counted> group = new Group<>();
+        for (int i = 0; i < size; i++) {
+            assertTrue(group.add(new Counted(i, comparisons)));
+        }
+        for (int i = 0; i < size; i++) {
+            assertFalse(group.add(new Counted(i, comparisons)));
+        }
+        assertEquals(size, group.size());
+        // A linear scan per add would take about size * size comparisons
+        assertTrue(comparisons[0] <= 2 * size, comparisons[0] + " comparisons");
+    }
+
+    // A member that counts how often it is compared for equality.
+    private record Counted(int value, long[] comparisons) {
+
+        @Override
+        public boolean equals(Object other) {
+            comparisons[0]++;
+            return other instanceof Counted counted && counted.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(value);
+        }
+    }
+
     /**
      * Test of remove method, of class Group.
      */
@@ -0,0 +1,197 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class IncrementalDivision.
+ */
+public class IncrementalDivisionTest {
+
+    private int nextId;
+
+    private Student student() {
+        nextId++;
+        return new Student("First" + nextId, "Last" + nextId, Integer.toString(nextId));
+    }
+
+    private IncrementalDivision division(int size, DivisionParameters parameters) {
+        List<List<Student>> groups = new ArrayList<>();
+        for (int groupSize : DivisionPlan.of(size, parameters.groupSize(),
+                parameters.deviation()).sizes()) {
+            List<Student> group = new ArrayList<>();
+            for (int i = 0; i < groupSize; i++) {
+                group.add(student());
+            }
+            groups.add(group);
+        }
+        return new IncrementalDivision(groups, parameters, new SplittableRandom(1));
+    }
+
+    @Test
+    public void testFailedChangeIsRolledBack() {
+        // Groups of 5 and 3; when 2 of the 3 leave and 1 joins, a student is picked from
+        // the group of 5, which fails while the generator fails
+        SplittableRandom random = new SplittableRandom(1);
+        boolean[] failing = {true};
+        RandomGenerator generator = () -> {
+            if (failing[0]) {
+                throw new IllegalStateException("generator failed");
+            }
+            return random.nextLong();
+        };
+        List<Student> large = List.of(student(), student(), student(), student(), student());
+        List<Student> small = List.of(student(), student(), student());
+        IncrementalDivision division = new IncrementalDivision(List.of(large, small),
+                new DivisionParameters(4, 1), generator);
+        List<Set<Student>> before = List.of(Set.copyOf(large), Set.copyOf(small));
+
+        Student joining = student();
+        List<Student> left = small.subList(1, 3);
+        assertThrows(IllegalStateException.class,
+                () -> division.apply(List.of(joining), left));
+        // Iterating over the groups to compare them draws numbers too
+        failing[0] = false;
+        assertEquals(before, division.groups());
+        assertEquals(8, division.size());
+        assertEquals(IncrementalDivision.NONE, division.groupOf(joining));
+        assertEquals(1, division.groupOf(small.get(2)));
+
+        // The rolled back division can still be changed
+        List<IncrementalDivision.Move> moves = division.apply(List.of(joining), left);
+        assertEquals(List.of(4, 3), division.groups().stream().map(Set::size).toList());
+        assertEquals(2, moves.size());
+    }
+
+    @Test
+    public void testLeaveTakesOneStudentFromLargerGroup() {
+        // Groups of 5, 4, 4, 4
+        IncrementalDivision division = division(17, new DivisionParameters(4, 1));
+        Student leaving = division.groups().get(1).iterator().next();
+
+        // The second group keeps 3 students, which is allowed
+        assertEquals(List.of(), division.apply(List.of(), List.of(leaving)));
+        assertEquals(IncrementalDivision.NONE, division.groupOf(leaving));
+
+        // Below the minimum, so it takes a student from the only larger group
+        Student second = division.groups().get(1).iterator().next();
+        List<IncrementalDivision.Move> moves = division.apply(List.of(), List.of(second));
+        assertEquals(1, moves.size());
+        assertEquals(0, moves.get(0).from());
+        assertEquals(1, moves.get(0).to());
+        assertEquals(3, division.groups().get(1).size());
+        assertEquals(4, division.groups().get(0).size());
+    }
+
+    @Test
+    public void testJoinGoesToSmallestGroup() {
+        // Groups of 5, 4, 4, 4
+        IncrementalDivision division = division(17, new DivisionParameters(4, 1));
+        Student joining = student();
+
+        List<IncrementalDivision.Move> moves = division.apply(List.of(joining), List.of());
+        assertEquals(1, moves.size());
+        assertEquals(joining, moves.get(0).student());
+        assertEquals(IncrementalDivision.NONE, moves.get(0).from());
+        assertNotEquals(0, moves.get(0).to());
+        assertEquals(5, division.groups().get(division.groupOf(joining)).size());
+    }
+
+    @Test
+    public void testJoinStartsNewGroupWhenAllAreFull() {
+        // Two groups of 2, no deviation
+        IncrementalDivision division = division(4, new DivisionParameters(2, 0));
+        Student first = student();
+        Student second = student();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> division.apply(List.of(first), List.of()));
+        assertEquals(4, division.size());
+
+        division.apply(List.of(first, second), List.of());
+        assertEquals(3, division.groups().size());
+        assertEquals(division.groupOf(first), division.groupOf(second));
+    }
+
+    @Test
+    public void testInvalidChanges() {
+        IncrementalDivision division = division(8, new DivisionParameters(4, 1));
+        Student member = division.groups().get(0).iterator().next();
+        Student stranger = student();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> division.apply(List.of(member), List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> division.apply(List.of(), List.of(stranger)));
+        assertThrows(IllegalArgumentException.class,
+                () -> division.apply(List.of(stranger, stranger), List.of()));
+        assertEquals(8, division.size());
+    }
+
+    /**
+     * Test that random changes keep every group within bounds and every student in
+     * exactly one group, moving only few students.
+     */
+    @Test
+    public void testRandomChanges() {
+        SplittableRandom random = new SplittableRandom(2024);
+        for (int round = 0; round < 50; round++) {
+            int groupSize = random.nextInt(1, 7);
+            DivisionParameters parameters = new DivisionParameters(groupSize,
+                    random.nextInt(0, groupSize));
+            IncrementalDivision division = division(10 * groupSize, parameters);
+            List<Student> members = new ArrayList<>();
+            division.groups().forEach(members::addAll);
+
+            for (int change = 0; change < 100; change++) {
+                applyRandomChange(division, members, parameters, random);
+                assertValid(division, members, parameters);
+            }
+        }
+    }
+
+    private void applyRandomChange(IncrementalDivision division, List<Student> members,
+            DivisionParameters parameters, SplittableRandom random) {
+        List<Student> joined = new ArrayList<>();
+        for (int i = random.nextInt(0, 4); i > 0; i--) {
+            joined.add(student());
+        }
+        List<Student> left = new ArrayList<>();
+        for (int i = Math.min(members.size(), random.nextInt(0, 4)); i > 0; i--) {
+            left.add(members.remove(random.nextInt(0, members.size())));
+        }
+
+        if (DivisionPlan.isFeasible(members.size() + joined.size(), parameters.groupSize(),
+                parameters.deviation())) {
+            List<IncrementalDivision.Move> moves = division.apply(joined, left);
+            int max = parameters.groupSize() + parameters.deviation();
+            assertTrue(moves.size() <= (joined.size() + left.size()) * (max + 1));
+            members.addAll(joined);
+        } else {
+            assertThrows(IllegalArgumentException.class, () -> division.apply(joined, left));
+            members.addAll(left);
+        }
+    }
+
+    private static void assertValid(IncrementalDivision division, List<Student> members,
+            DivisionParameters parameters) {
+        Set<Student> seen = new HashSet<>();
+        List<Set<Student>> groups = division.groups();
+        for (int g = 0; g < groups.size(); g++) {
+            int size = groups.get(g).size();
+            assertTrue(size == 0
+                    || Math.abs(size - parameters.groupSize()) <= parameters.deviation());
+            for (Student student : groups.get(g)) {
+                assertTrue(seen.add(student));
+                assertEquals(g, division.groupOf(student));
+            }
+        }
+        assertEquals(new HashSet<>(members), seen);
+        assertEquals(members.size(), division.size());
+    }
+}
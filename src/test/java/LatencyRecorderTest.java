@@ -0,0 +1,32 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class LatencyRecorder.
+ */
+public class LatencyRecorderTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder(1000);
+        assertArrayEquals(new long[] {0}, recorder.percentiles(50));
+
+        for (int latency = 100; latency >= 1; latency--) {
+            recorder.record(latency);
+        }
+        assertEquals(100, recorder.count());
+        assertArrayEquals(new long[] {1, 50, 90, 99, 100},
+                recorder.percentiles(1, 50, 90, 99, 100));
+    }
+
+    @Test
+    public void testKeepsLatest() {
+        LatencyRecorder recorder = new LatencyRecorder(10);
+        for (int latency = 1; latency <= 100; latency++) {
+            recorder.record(latency);
+        }
+        assertEquals(100, recorder.count());
+        assertArrayEquals(new long[] {91, 100}, recorder.percentiles(10, 100));
+    }
+}
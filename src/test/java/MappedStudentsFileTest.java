@@ -0,0 +1,125 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test MappedStudentsFile class.
+ */
+public class MappedStudentsFileTest {
+
+    private static final String HEADER = "first name,last name,ID";
+
+    private static final String ROWS = String.join("\n",
+            "Huub,de Beer,232112",
+            "\"Jansens, Jan\",\"van \"\"der\"\" Borne\",232113",
+            "Elsa,\"multi",
+            "line\",232114\r",
+            "",
+            "Omar,Mahamat,232115,extra,columns",
+            "Zoë,Fernández,232116\r",
+            "Huub,Duplicate,232112");
+
+    private Path file;
+
+    /**
+     * Create a temporary file for each test.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("students", ".csv");
+    }
+
+    /**
+     * Remove the temporary file after each test.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test of hasStandardHeader method, of class MappedStudentsFile.
+     */
+    @Test
+    public void testHasStandardHeader() throws IOException {
+        Files.writeString(file, "");
+        assertFalse(MappedStudentsFile.hasStandardHeader(file));
+
+        Files.writeString(file, HEADER);
+        assertTrue(MappedStudentsFile.hasStandardHeader(file));
+
+        Files.writeString(file, HEADER + "\r\nHuub,de Beer,232112");
+        assertTrue(MappedStudentsFile.hasStandardHeader(file));
+
+        Files.writeString(file, "voornaam,achternaam,ID\nHuub,de Beer,232112");
+        assertFalse(MappedStudentsFile.hasStandardHeader(file));
+
+        Files.writeString(file, HEADER + ",email\nHuub,de Beer,232112,huub@example.org");
+        assertFalse(MappedStudentsFile.hasStandardHeader(file));
+    }
+
+    /**
+     * Test that fromCSV reads the same students as the commons-csv reader.
+     */
+    @Test
+    public void testFromCSV() throws IOException {
+        Files.writeString(file, HEADER + "\n" + ROWS);
+
+        Group<Student> expected = StudentsFile.fromCSV(HEADER + "\n" + ROWS);
+        Group<Student> students = MappedStudentsFile.fromCSV(file);
+
+        assertEquals(5, students.size());
+        assertEquals(sorted(expected), sorted(students));
+        assertTrue(students.contains(new Student("Zoë", "Fernández", "232116")));
+    }
+
+    /**
+     * Test that rows crossing the boundary of a mapped window are read correctly.
+     */
+    @Test
+    public void testParseSmallWindow() throws IOException {
+        Files.writeString(file, HEADER + "\n" + ROWS);
+
+        List<Student> students = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new MappedStudentsFile(students::add, 48)
+                    .parse(channel, MappedStudentsFile.dataStart(channel), channel.size());
+        }
+
+        Group<Student> group = new Group<>();
+        group.addAll(students);
+
+        assertEquals(6, students.size());
+        assertEquals(sorted(StudentsFile.fromCSV(HEADER + "\n" + ROWS)), sorted(group));
+    }
+
+    /**
+     * Test that invalid rows result in an error.
+     */
+    @Test
+    public void testFromCSV_Invalid() throws IOException {
+        Files.writeString(file, HEADER + "\nThis is an invalid row");
+        assertThrows(IllegalArgumentException.class, () -> MappedStudentsFile.fromCSV(file));
+
+        Files.writeString(file, "voornaam,achternaam,ID\nHuub,de Beer,232112");
+        assertThrows(IllegalArgumentException.class, () -> MappedStudentsFile.fromCSV(file));
+    }
+
+    // Students as sorted list of their fields, to compare names as well as IDs
+    private static List<List<String>> sorted(Group<Student> students) {
+        return students.stream()
+                .map(s -> List.of(s.id(), s.firstName(), s.lastName()))
+                .sorted((a, b) -> a.get(0).compareTo(b.get(0)))
+                .toList();
+    }
+
+}
@@ -0,0 +1,55 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class PairHistory.
+ */
+public class PairHistoryTest {
+
+    /**
+     * Test of add and count methods, of class PairHistory.
+     */
+    @Test
+    public void testAddCount() {
+        PairHistory history = new PairHistory(6);
+        history.add(new int[] {0, 3, 5});
+        history.add(new int[] {5, 3});
+
+        assertEquals(1, history.count(0, 3));
+        assertEquals(1, history.count(3, 0));
+        assertEquals(2, history.count(5, 3));
+        assertEquals(0, history.count(1, 2));
+        assertEquals(3, history.count(3, new int[] {0, 3, 5, 4}, 4));
+        assertEquals(1, history.count(3, new int[] {0, 3, 5}, 5));
+        assertEquals(4, history.repeats(new int[] {0, 3, 5}));
+        assertEquals(0, history.repeats(new int[] {1, 2, 4}));
+    }
+
+    /**
+     * Test that counts saturate instead of overflowing.
+     */
+    @Test
+    public void testSaturate() {
+        PairHistory history = new PairHistory(2);
+        for (int i = 0; i < 300; i++) {
+            history.add(new int[] {1, 0});
+        }
+        assertEquals(255, history.count(0, 1));
+    }
+
+    /**
+     * Test that the history of a large class fits, and of a huge class is refused.
+     */
+    @Test
+    public void testClassSize() {
+        PairHistory history = new PairHistory(5_000);
+        history.add(new int[] {0, 4_999});
+        assertEquals(1, history.count(4_999, 0));
+        assertEquals(0, history.count(4_998, 4_999));
+        assertEquals(0, new PairHistory(0).classSize());
+
+        assertThrows(IllegalArgumentException.class, () -> new PairHistory(100_000));
+    }
+
+}
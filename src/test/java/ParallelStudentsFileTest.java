@@ -0,0 +1,154 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Test ParallelStudentsFile class.
+ */
+public class ParallelStudentsFileTest {
+
+    private static final String HEADER = "first name,last name,ID";
+
+    private Path file;
+
+    /**
+     * Create a temporary file for each test.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("students", ".csv");
+    }
+
+    /**
+     * Remove the temporary file after each test.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test that parsing in parallel gives the same students, in the same order, as parsing
+     * on a single thread.
+     */
+    @Test
+    public void testFromCSV() throws IOException {
+        writeRoster(file, 2_000);
+
+        Group<Student> expected = MappedStudentsFile.fromCSV(file);
+        for (int parallelism : List.of(1, 2, 3, 8)) {
+            Group<Student> students = ParallelStudentsFile.fromCSV(file, parallelism, 64);
+            assertEquals(expected, students);
+            assertArrayEquals(fields(expected), fields(students));
+        }
+    }
+
+    /**
+     * Test that chunks are never split inside a quoted field, and that the first row with
+     * a duplicate ID wins.
+     */
+    @Test
+    public void testFromCSV_Quoted() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        for (int i = 0; i < 200; i++) {
+            csv.append("\"First\n%d\",\"Last, \"\"%d\"\"\",%d\n".formatted(i, i, i % 150));
+        }
+        Files.writeString(file, csv);
+
+        Group<Student> expected = StudentsFile.fromCSV(csv.toString());
+        Group<Student> students = ParallelStudentsFile.fromCSV(file, 7, 16);
+        assertEquals(150, students.size());
+        assertArrayEquals(fields(expected), fields(students));
+    }
+
+    /**
+     * Test that a quote inside an unquoted field, which upsets the quote parity of every
+     * later chunk, does not split rows.
+     */
+    @Test
+    public void testFromCSV_StrayQuote() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        csv.append("Jan,O\"Brien,stray\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("First%d,\"Last\n%d\",%d\n".formatted(i, i, i));
+        }
+        Files.writeString(file, csv);
+
+        Group<Student> expected = StudentsFile.fromCSV(csv.toString());
+        assertEquals("O\"Brien", expected.stream()
+                .filter(s -> s.id().equals("stray")).findFirst().orElseThrow().lastName());
+        for (int parallelism : List.of(2, 3, 7)) {
+            Group<Student> students = ParallelStudentsFile.fromCSV(file, parallelism, 16);
+            assertEquals(201, students.size());
+            assertArrayEquals(fields(expected), fields(students));
+        }
+    }
+
+    /**
+     * Test that invalid rows result in an error.
+     */
+    @Test
+    public void testFromCSV_Invalid() throws IOException {
+        writeRoster(file, 100);
+        Files.writeString(file, "This is an invalid row\n", StandardOpenOption.APPEND);
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelStudentsFile.fromCSV(file, 4, 64));
+    }
+
+    /**
+     * Benchmark the speedup of parsing a large file against the number of threads.
+     *
+     * Run with {@code mvn test -Dbenchmark=true -Dtest=ParallelStudentsFileTest}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkSpeedup() throws IOException {
+        writeRoster(file, 2_000_000);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        double base = 0;
+        System.out.printf("%8s %12s %8s%n", "threads", "time (ms)", "speedup");
+        for (int threads = 1; threads <= 2 * cores; threads *= 2) {
+            double time = bestTime(threads);
+            base = threads == 1 ? time : base;
+            System.out.printf("%8d %12.1f %8.2f%n", threads, time, base / time);
+        }
+    }
+
+    private double bestTime(int threads) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            ParallelStudentsFile.fromCSV(file, threads);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    private static void writeRoster(Path file, int size) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write(HEADER + "\n");
+            for (int i = 0; i < size; i++) {
+                out.write("First%d,Last%d,%d\n".formatted(i, i, 1_000_000 + i % (size - 10)));
+            }
+        }
+    }
+
+    // All fields of the students in iteration order of their IDs
+    private static String[] fields(Group<Student> students) {
+        return students.stream()
+                .sorted((a, b) -> a.id().compareTo(b.id()))
+                .map(s -> s.firstName() + "|" + s.lastName() + "|" + s.id())
+                .toArray(String[]::new);
+    }
+
+}
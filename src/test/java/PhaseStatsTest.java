@@ -0,0 +1,77 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class PhaseStats.
+ */
+public class PhaseStatsTest {
+
+    @Test
+    public void testTime() {
+        PhaseStats stats = new PhaseStats();
+        assertTrue(stats.phases().isEmpty());
+
+        int[] numbers = stats.time("allocate", () -> new int[1 << 20], array -> array.length);
+        try (PhaseStats.Timer timer = stats.start("count")) {
+            timer.count(numbers.length / 2);
+        }
+
+        List<PhaseStats.Phase> phases = stats.phases();
+        assertEquals(2, phases.size());
+        PhaseStats.Phase allocate = phases.get(0);
+        assertEquals("allocate", allocate.name());
+        assertEquals(1 << 20, allocate.count());
+        assertTrue(allocate.nanos() >= 0);
+        // Either allocations are not measured, or the array of 4 MiB is counted
+        assertTrue(allocate.allocatedBytes() == -1 || allocate.allocatedBytes() >= 4 << 20,
+                "allocated " + allocate.allocatedBytes() + " bytes");
+        assertEquals(new PhaseStats.Phase("count", phases.get(1).nanos(),
+                phases.get(1).allocatedBytes(), 1 << 19), phases.get(1));
+    }
+
+    @Test
+    public void testTimeFailure() {
+        PhaseStats stats = new PhaseStats();
+        IOException e = assertThrows(IOException.class, () -> stats.time("read", () -> {
+            throw new IOException("unreadable");
+        }, result -> 1));
+        assertEquals("unreadable", e.getMessage());
+
+        assertEquals(1, stats.phases().size());
+        assertEquals("read", stats.phases().get(0).name());
+        assertEquals(0, stats.phases().get(0).count());
+    }
+
+    @Test
+    public void testToJson() {
+        PhaseStats stats = new PhaseStats();
+        assertEquals("{\"phases\":[]}", stats.toJson());
+
+        stats.time("parse \"csv\"", () -> 7, Integer::longValue);
+        PhaseStats.Phase phase = stats.phases().get(0);
+        assertEquals(("{\"phases\":[{\"name\":\"parse \\\"csv\\\"\",\"nanos\":%d,"
+                + "\"allocatedBytes\":%d,\"count\":7}]}")
+                .formatted(phase.nanos(), phase.allocatedBytes()), stats.toJson());
+    }
+
+    @Test
+    public void testPrint() {
+        PhaseStats stats = new PhaseStats();
+        stats.time("parse", () -> 30, Integer::longValue);
+        stats.time("divide", () -> 8, Integer::longValue);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        stats.print(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("phase"));
+        assertTrue(lines[1].startsWith("parse") && lines[1].endsWith(" 30"));
+        assertTrue(lines[2].startsWith("divide") && lines[2].endsWith(" 8"));
+    }
+}
@@ -0,0 +1,87 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class RosterCache.
+ */
+public class RosterCacheTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testGet() throws Exception {
+        Path file = roster("a.csv", 10);
+        RosterCache cache = new RosterCache(100);
+
+        Group<Student> klas = cache.get(file, 1);
+        assertEquals(10, klas.size());
+        assertSame(klas, cache.get(file, 1));
+        assertSame(klas, cache.get(directory.resolve(".").resolve("a.csv"), 1));
+        assertEquals(new RosterCache.Stats(2, 1, 0, 1, 10), cache.stats());
+    }
+
+    @Test
+    public void testGetChanged() throws Exception {
+        Path file = roster("a.csv", 10);
+        RosterCache cache = new RosterCache(100);
+        Group<Student> klas = cache.get(file, 1);
+
+        // A different size is noticed even when the modified time is the same
+        FileTime modified = Files.getLastModifiedTime(file);
+        roster("a.csv", 12);
+        Files.setLastModifiedTime(file, modified);
+        Group<Student> changed = cache.get(file, 1);
+        assertEquals(12, changed.size());
+
+        // A different modified time is noticed even when the size is the same
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2000));
+        assertNotSame(changed, cache.get(file, 1));
+        assertNotSame(klas, changed);
+        assertEquals(new RosterCache.Stats(0, 3, 0, 1, 12), cache.stats());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        Path a = roster("a.csv", 10);
+        Path b = roster("b.csv", 10);
+        Path c = roster("c.csv", 10);
+        RosterCache cache = new RosterCache(25);
+
+        cache.get(a, 1);
+        cache.get(b, 1);
+        cache.get(a, 1);
+        cache.get(c, 1); // evicts b, the least recently used
+        assertEquals(new RosterCache.Stats(1, 3, 1, 2, 20), cache.stats());
+        cache.get(a, 1);
+        cache.get(b, 1);
+        assertEquals(new RosterCache.Stats(2, 4, 2, 2, 20), cache.stats());
+
+        cache.clear();
+        assertEquals(new RosterCache.Stats(2, 4, 2, 0, 0), cache.stats());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        Path file = roster("a.csv", 10);
+        RosterCache cache = new RosterCache(0);
+        assertNotSame(cache.get(file, 1), cache.get(file, 1));
+        assertEquals(new RosterCache.Stats(0, 2, 0, 0, 0), cache.stats());
+    }
+
+    @Test
+    public void testMissingFile() throws Exception {
+        RosterCache cache = new RosterCache(100);
+        assertThrows(java.io.IOException.class, () -> cache.get(directory.resolve("x.csv"), 1));
+        assertEquals(0, cache.stats().entries());
+    }
+
+    private Path roster(String name, int size) throws Exception {
+        return Files.writeString(directory.resolve(name), TestRosters.csv(size));
+    }
+}
@@ -0,0 +1,107 @@
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class RosterDelta.
+ */
+public class RosterDeltaTest {
+
+    private static final String HEADER = "first name,last name,ID\n";
+
+    private static final Student HUUB = new Student("Huub", "de Beer", "1");
+    private static final Student JAN = new Student("Jan", "Jansens", "2");
+    private static final Student ELSA = new Student("Elsa", "van der Borne", "3");
+
+    private static RosterDelta of(List<Student> old, String rows) throws Exception {
+        return RosterDelta.of(old, new StringReader(HEADER + rows));
+    }
+
+    /**
+     * Test of of method, of class RosterDelta.
+     */
+    @Test
+    public void testOf() throws Exception {
+        List<Student> old = List.of(HUUB, JAN, ELSA);
+
+        // Same students in another order
+        assertTrue(of(old, "Elsa,van der Borne,3\nHuub,de Beer,1\nJan,Jansens,2\n").isEmpty());
+
+        Student omar = new Student("Omar", "Mahamat", "4");
+        RosterDelta delta = of(old, "Omar,Mahamat,4\nElse,Van der Borne,3\nHuub,de Beer,1\n");
+        assertEquals(List.of(omar), delta.added());
+        assertEquals(List.of(JAN), delta.removed());
+        assertEquals(1, delta.renamed().size());
+        assertSame(ELSA, delta.renamed().get(0).before());
+        assertEquals("Else", delta.renamed().get(0).after().firstName());
+        assertEquals("Van der Borne", delta.renamed().get(0).after().lastName());
+
+        // Everyone left
+        assertEquals(old, of(old, "").removed());
+
+        // The same ID twice, whether old or new: the first row wins, as in fromCSV
+        String rows = "Huub,de Beer,1\nJan,Jansens,2\nElsa,van der Borne,3\n"
+                + "Hugo,de Beer,1\nOmar,Mahamat,4\nOmer,Mahamat,4\n";
+        delta = of(old, rows);
+        assertEquals(List.of(omar), delta.added());
+        assertEquals("Omar", delta.added().get(0).firstName());
+        assertTrue(delta.removed().isEmpty());
+        assertTrue(delta.renamed().isEmpty());
+        assertEquals(StudentsFile.fromCSV(new StringReader(HEADER + rows)).size(),
+                old.size() + delta.added().size() - delta.removed().size());
+    }
+
+    /**
+     * Test that the removed students of a group come in the order they were added.
+     */
+    @Test
+    public void testOf_RemovedOrder() throws Exception {
+        StringBuilder all = new StringBuilder(HEADER);
+        StringBuilder even = new StringBuilder(HEADER);
+        List<String> odd = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String row = "First%d,Last%d,%d\n".formatted(i, i, i);
+            all.append(row);
+            if (i % 2 == 0) {
+                even.append(row);
+            } else {
+                odd.add(Integer.toString(i));
+            }
+        }
+
+        Group<Student> old = StudentsFile.fromCSV(all.toString());
+        RosterDelta delta = RosterDelta.of(old, new StringReader(even.toString()));
+        assertEquals(odd, delta.removed().stream().map(Student::id).toList());
+    }
+
+    /**
+     * Test of applyTo method, of class RosterDelta.
+     */
+    @Test
+    public void testApplyTo() throws Exception {
+        Student omar = new Student("Omar", "Mahamat", "4");
+        IncrementalDivision division = new IncrementalDivision(
+                List.of(List.of(HUUB, JAN), List.of(ELSA, omar)),
+                new DivisionParameters(2, 1), new SplittableRandom(1));
+
+        RosterDelta delta = of(List.of(HUUB, JAN, ELSA, omar),
+                "Huub,de Beer,1\nJan,Jansen,2\nElsa,van der Borne,3\nOmar,Mahamat,4\n");
+        assertEquals(List.of(), delta.applyTo(division));
+        Student renamed = division.groups().get(0).stream()
+                .filter(JAN::equals).findFirst().orElseThrow();
+        assertEquals("Jansen", renamed.lastName());
+
+        delta = of(List.of(HUUB, renamed, ELSA, omar),
+                "Huub,de Beer,1\nJan,Jansen,2\nElsa,van der Borne,3\n");
+        assertEquals(List.of(omar), delta.removed());
+        assertTrue(delta.renamed().isEmpty());
+        assertEquals(List.of(), delta.applyTo(division));
+        assertEquals(3, division.size());
+        assertEquals(IncrementalDivision.NONE, division.groupOf(omar));
+    }
+
+}
@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class RotationScheduler.
+ */
+public class RotationSchedulerTest {
+
+    private static final DivisionParameters PARAMETERS = new DivisionParameters(4, 1);
+
+    private static Group<Student> klas(int size) throws Exception {
+        return StudentsFile.fromCSV(TestRosters.csv(size, 0));
+    }
+
+    private static List<RotationScheduler.Round> rounds(Group<Student> klas, int rounds,
+            int parallelism) {
+        RotationScheduler scheduler = new RotationScheduler(klas, PARAMETERS, 42, parallelism);
+        try {
+            List<RotationScheduler.Round> result = new ArrayList<>();
+            for (int round = 0; round < rounds; round++) {
+                result.add(scheduler.next());
+            }
+            return result;
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Test that every round is a division of the whole class.
+     */
+    @Test
+    public void testNextDividesClass() throws Exception {
+        Group<Student> klas = klas(103);
+        for (RotationScheduler.Round round : rounds(klas, 3, 2)) {
+            Set<Student> students = new HashSet<>();
+            for (Set<Student> group : round.result().groups()) {
+                assertTrue(3 <= group.size() && group.size() <= 5);
+                students.addAll(group);
+            }
+            assertEquals(new HashSet<>(klas), students);
+        }
+    }
+
+    /**
+     * Test that the rounds do not depend on the number of threads.
+     */
+    @Test
+    public void testNextDeterministic() throws Exception {
+        Group<Student> klas = klas(200);
+        List<RotationScheduler.Round> sequential = rounds(klas, 4, 1);
+        List<RotationScheduler.Round> parallel = rounds(klas, 4, 4);
+        for (int round = 0; round < sequential.size(); round++) {
+            assertEquals(sequential.get(round).repeats(), parallel.get(round).repeats());
+            for (int group = 0; group < sequential.get(round).result().groups().size(); group++) {
+                assertArrayEquals(sequential.get(round).result().division().rows(group),
+                        parallel.get(round).result().division().rows(group));
+            }
+        }
+    }
+
+    /**
+     * Test that the rounds repeat fewer pairings than random divisions.
+     */
+    @Test
+    public void testNextFewerRepeats() throws Exception {
+        final int rounds = 8;
+        Group<Student> klas = klas(32);
+        long scheduled = 0;
+        for (RotationScheduler.Round round : rounds(klas, rounds, 2)) {
+            assertEquals(8 * 6, round.pairs());
+            scheduled += round.repeats();
+        }
+
+        // Divisions at random, with the same rows as the scheduler
+        PairHistory history = new PairHistory(klas.size());
+        long random = 0;
+        for (int round = 0; round < rounds; round++) {
+            Division division = new Divider().divide(klas, PARAMETERS, round).division();
+            for (int group = 0; group < division.groupCount(); group++) {
+                random += history.repeats(division.rows(group));
+                history.add(division.rows(group));
+            }
+        }
+        assertTrue(scheduled < random / 2, scheduled + " repeats, at random " + random);
+    }
+
+}
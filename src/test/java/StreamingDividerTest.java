@@ -0,0 +1,89 @@
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class StreamingDivider.
+ */
+public class StreamingDividerTest {
+
+    private static final DivisionParameters PARAMETERS = new DivisionParameters(4, 1);
+
+    @TempDir
+    Path directory;
+
+    private Path roster(int size) throws Exception {
+        return Files.writeString(directory.resolve("students.csv"), TestRosters.csv(size));
+    }
+
+    private static String divide(Path file, long seed) throws Exception {
+        StringWriter out = new StringWriter();
+        StreamingDivider.divide(file, PARAMETERS, seed, out);
+        return out.toString();
+    }
+
+    /**
+     * Test that every student is written once, in order, in groups as planned.
+     */
+    @Test
+    public void testDivide() throws Exception {
+        final int size = 1_001;
+        String[] rows = divide(roster(size), 1).split("\\R");
+        assertEquals("ID,group", rows[0]);
+        assertEquals(size + 1, rows.length);
+
+        Map<Integer, Integer> sizes = new HashMap<>();
+        for (int row = 1; row < rows.length; row++) {
+            String[] fields = rows[row].split(",");
+            assertEquals(Integer.toString(1_000 + row - 1), fields[0]);
+            sizes.merge(Integer.parseInt(fields[1]), 1, Integer::sum);
+        }
+
+        DivisionPlan plan = DivisionPlan.of(size, 4, 1);
+        for (int group = 0; group < plan.groups(); group++) {
+            assertEquals(plan.size(group), sizes.get(group + 1));
+        }
+        assertEquals(plan.groups(), sizes.size());
+    }
+
+    /**
+     * Test that the division depends on the seed only.
+     */
+    @Test
+    public void testDivideSeed() throws Exception {
+        Path file = roster(100);
+        assertEquals(divide(file, 7), divide(file, 7));
+        assertNotEquals(divide(file, 7), divide(file, 8));
+    }
+
+    /**
+     * Test dividing empty and indivisible classes.
+     */
+    @Test
+    public void testDivideSmallClasses() throws Exception {
+        assertEquals("ID,group", divide(roster(0), 1).trim());
+        Path two = roster(2);
+        assertThrows(IllegalArgumentException.class, () -> divide(two, 1));
+    }
+
+    /**
+     * Test of group method, of class StreamingDivider.
+     */
+    @Test
+    public void testGroup() {
+        DivisionPlan plan = DivisionPlan.of(26, 4, 1);
+        int slot = 0;
+        for (int group = 0; group < plan.groups(); group++) {
+            for (int i = 0; i < plan.size(group); i++) {
+                assertEquals(group, StreamingDivider.group(plan, slot++));
+            }
+        }
+    }
+
+}
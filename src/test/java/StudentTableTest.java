@@ -0,0 +1,115 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test StudentTable class.
+ */
+public class StudentTableTest {
+
+    /**
+     * Test of add method, of class StudentTable.
+     */
+    @Test
+    public void testAdd() {
+        StudentTable table = new StudentTable();
+        assertTrue(table.isEmpty());
+
+        assertTrue(table.add(new Student("Huub", "de Beer", "232112")));
+        assertTrue(table.add(new Student("Jan", "Jansens", "8137240")));
+        assertAll(
+                () -> assertEquals(2, table.size()),
+                () -> assertEquals(232112, table.id(0)),
+                () -> assertEquals("Jan", table.firstName(1)),
+                () -> assertEquals("Jansens", table.lastName(1))
+        );
+
+        // A student with an ID already in the table is not added
+        assertFalse(table.add(new Student("Other", "Name", "232112")));
+        assertEquals(2, table.size());
+        assertEquals("Huub", table.firstName(0));
+
+        // IDs must be student numbers
+        assertThrows(IllegalArgumentException.class,
+                () -> table.add(new Student("First name", "Last name", "ID")));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.add(new Student("First name", "Last name", "0123")));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.add(new Student("First name", "Last name", "-5")));
+    }
+
+    /**
+     * Test of row method, of class StudentTable.
+     */
+    @Test
+    public void testRow() {
+        StudentTable table = new StudentTable();
+        for (int i = 0; i < 10_000; i++) {
+            table.add(new Student("First" + i, "Last" + (i % 10), Integer.toString(7 * i)));
+        }
+
+        assertEquals(10_000, table.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, table.row(7 * i));
+        }
+        assertEquals(-1, table.row(1));
+    }
+
+    /**
+     * Test of get method, of class StudentTable.
+     */
+    @Test
+    public void testGet() {
+        StudentTable table = new StudentTable();
+        Student student = new Student("Elsa", "van der Borne", "8137240");
+        table.add(student);
+
+        Student view = table.get(0);
+        assertAll(
+                () -> assertEquals(student, view),
+                () -> assertEquals(student.firstName(), view.firstName()),
+                () -> assertEquals(student.lastName(), view.lastName()),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> table.get(1))
+        );
+    }
+
+    /**
+     * Test of hasUniqueFirstName method, of class StudentTable.
+     */
+    @Test
+    public void testHasUniqueFirstName() {
+        StudentTable table = new StudentTable();
+        table.add(new Student("Sam", "Smith", "1"));
+        table.add(new Student("Emily", "Sam", "2"));
+        assertTrue(table.hasUniqueFirstName(0));
+
+        table.add(new Student("Sam", "Jones", "3"));
+        assertFalse(table.hasUniqueFirstName(0));
+        assertFalse(table.hasUniqueFirstName(2));
+        assertTrue(table.hasUniqueFirstName(1));
+    }
+
+    /**
+     * Test of fromCSV method, of class StudentTable.
+     */
+    @Test
+    public void testFromCSV() throws IOException {
+        Path file = Files.createTempFile("students", ".csv");
+        try {
+            for (String header : List.of("first name,last name,ID", "voornaam,achternaam,nummer")) {
+                Files.writeString(file,
+                        header + "\nHuub,de Beer,232112\n\"Jan\",Jansens,8137240\n");
+                StudentTable table = StudentTable.fromCSV(file);
+                assertEquals(2, table.size());
+                assertEquals(new Student("Jan", "Jansens", "8137240"), table.get(1));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -30,6 +30,18 @@ public class StudentTest {
         assertEquals("Santos, Julia dos", new Student("Julia", "dos Santos", "").sortName());
     }
 
+    /**
+     * Test of sortInitial method, of class Student.
+     */
+    @Test
+    public void testSortInitial() {
+        for (String lastName : new String[] {"de Beer", "van der Borne", "Jansens",
+            "Van der Borne", "Fernández", "dos Santos", "lowercase", ""}) {
+            Student student = new Student("First", lastName, "");
+            assertEquals(student.sortName().charAt(0), student.sortInitial());
+        }
+    }
+
     /**
      * Test of equals method, of class Student.
      */
@@ -1,3 +1,10 @@
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,6 +47,27 @@ public class StudentsFileTest {
         );
     }
 
+    /**
+     * Test of fromCSV method, of class StudentsFile, reading from a file.
+     */
+    @Test
+    public void testFromCSV_Path() throws Exception {
+        Path file = Files.createTempFile("students", ".csv");
+        try {
+            Files.writeString(file, "%s\nHuub,de Beer,232112\nJan,Jansens,232113\n"
+                    .formatted(HEADER));
+            Group<Student> students = StudentsFile.fromCSV(file);
+            assertEquals(2, students.size());
+            assertTrue(students.contains(new Student("Huub", "de Beer", "232112")));
+
+            try (InputStream in = Files.newInputStream(file)) {
+                assertEquals(students, StudentsFile.fromCSV(in));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     /**
      * Test of toCSV method, of class StudentsFile.
      */
@@ -61,4 +89,78 @@ public class StudentsFileTest {
         assertEquals("%s,%s,%s".formatted(firstName, lastName, id), lastRow);
     }
 
+    /**
+     * Test of toCSV method, of class StudentsFile, writing to a stream and a file
+     * channel.
+     */
+    @Test
+    public void testToCSV_Streaming() throws Exception {
+        String roster = TestRosters.csv(1000, 1_000_000);
+        Group<Student> students = StudentsFile.fromCSV(roster);
+        String expected = roster.substring(HEADER.length() + 1).replace("\n", "\r\n");
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StudentsFile.toCSV(students, stream);
+        assertEquals(expected, stream.toString(StandardCharsets.UTF_8));
+
+        Path file = Files.createTempFile("students", ".csv");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            StudentsFile.toCSV(students, channel);
+            StudentsFile.toCSV(students, channel);
+            assertEquals(expected + expected, Files.readString(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test of toCSV method, of class StudentsFile, writing a division.
+     */
+    @Test
+    public void testToCSV_Division() throws Exception {
+        Group<Student> students = StudentsFile.fromCSV(TestRosters.csv(100, 1_000_000));
+        DivisionResult result = new Divider().divide(students,
+                new DivisionParameters(4, 1), 42);
+
+        Path file = Files.createTempFile("division", ".csv");
+        try {
+            StudentsFile.toCSV(file, result);
+            String csv = Files.readString(file);
+            assertTrue(csv.startsWith("group," + HEADER + "\r\n"));
+            String first = result.groups().get(0).iterator().next().id();
+            assertTrue(csv.contains("," + first + "\r\n"));
+
+            // The export and the csv output format write the same CSV
+            Path rendered = Files.createTempFile("rendered", ".csv");
+            GroupsRenderer.of("csv").render(result, rendered);
+            assertEquals(csv, Files.readString(rendered));
+            Files.delete(rendered);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test of diff method, of class StudentsFile.
+     */
+    @Test
+    public void testDiff_Path() throws Exception {
+        Path file = Files.createTempFile("students", ".csv");
+        try {
+            Files.writeString(file, TestRosters.csv(100, 1_000_000));
+            Group<Student> old = StudentsFile.fromCSV(file);
+            assertTrue(StudentsFile.diff(old, file).isEmpty());
+
+            Files.writeString(file, "%s\nHuub,de Beer,232112\nFirst1,Last1,1000001\n"
+                    .formatted(HEADER));
+            RosterDelta delta = StudentsFile.diff(old, file);
+            assertEquals(1, delta.added().size());
+            assertEquals(99, delta.removed().size());
+            assertFalse(delta.removed().contains(new Student("", "", "1000001")));
+            assertTrue(delta.renamed().isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
 }
@@ -0,0 +1,152 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test StudentsSnapshot class.
+ */
+public class StudentsSnapshotTest {
+
+    private static final String CSV = """
+            first name,last name,ID
+            Huub,de Beer,232112
+            Zoë,Fernández,8137240
+            Huub,Jansens,232113
+            """;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test that a loaded snapshot holds the students in the CSV file.
+     */
+    @Test
+    public void testLoad() throws IOException {
+        Path file = directory.resolve("students.csv");
+        Path snapshot = directory.resolve("students.snapshot");
+        Files.writeString(file, CSV);
+
+        StudentsSnapshot students = StudentsSnapshot.load(file, snapshot);
+        assertTrue(Files.exists(snapshot));
+        assertAll(
+                () -> assertEquals(3, students.size()),
+                () -> assertEquals(232112, students.id(0)),
+                () -> assertEquals("Zoë", students.firstName(1)),
+                () -> assertEquals("Fernández", students.lastName(1)),
+                () -> assertEquals(new Student("Huub", "Jansens", "232113"), students.get(2)),
+                () -> assertFalse(students.hasUniqueFirstName(0)),
+                () -> assertTrue(students.hasUniqueFirstName(1)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> students.id(3))
+        );
+
+        // Opening the snapshot without the CSV file gives the same students
+        StudentsSnapshot reopened = StudentsSnapshot.open(snapshot);
+        assertEquals(3, reopened.size());
+        assertEquals("Jansens", reopened.lastName(2));
+    }
+
+    /**
+     * Test that a snapshot of an older version of the CSV file is rebuilt.
+     */
+    @Test
+    public void testLoadStale() throws IOException {
+        Path file = directory.resolve("students.csv");
+        Path snapshot = directory.resolve("students.snapshot");
+        Files.writeString(file, CSV);
+        StudentsSnapshot.load(file, snapshot);
+
+        Files.writeString(file, CSV + "Jan,Jansens,232114\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+
+        StudentsSnapshot students = StudentsSnapshot.load(file, snapshot);
+        assertEquals(4, students.size());
+        assertEquals(4, StudentsSnapshot.open(snapshot).size());
+    }
+
+    /**
+     * Test that a damaged snapshot is detected and rebuilt.
+     */
+    @Test
+    public void testLoadDamaged() throws IOException {
+        Path file = directory.resolve("students.csv");
+        Path snapshot = directory.resolve("students.snapshot");
+        Files.writeString(file, CSV);
+        StudentsSnapshot.load(file, snapshot);
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), channel.size() - 3);
+        }
+        assertThrows(IOException.class, () -> StudentsSnapshot.open(snapshot));
+
+        StudentsSnapshot students = StudentsSnapshot.load(file, snapshot);
+        assertEquals("Fernández", students.lastName(1));
+        assertEquals(3, StudentsSnapshot.open(snapshot).size());
+    }
+
+    /**
+     * Test that a snapshot with a valid checksum but counts, name codes or offsets out
+     * of range is rejected.
+     */
+    @Test
+    public void testOfTampered() throws IOException {
+        Path file = directory.resolve("students.csv");
+        Path snapshot = directory.resolve("students.snapshot");
+        Files.writeString(file, CSV);
+        StudentsSnapshot.load(file, snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        assertEquals(3, StudentsSnapshot.of(tampered(bytes, 20, 0)).size());
+
+        int size = ByteBuffer.wrap(bytes).getInt(12);
+        int names = ByteBuffer.wrap(bytes).getInt(16);
+        int firstNames = 48 + Long.BYTES * size;
+        int offsets = firstNames + 2 * Integer.BYTES * size + Integer.BYTES * names;
+        int[][] tamperings = {
+            {12, -1}, {12, Integer.MAX_VALUE}, {12, size + 1}, {16, -1}, {16, names + 100},
+            {firstNames, names}, {firstNames + Integer.BYTES * (2 * size - 1), -1},
+            {offsets + Integer.BYTES, -1}, {offsets + Integer.BYTES * names, bytes.length},
+        };
+        for (int[] tampering : tamperings) {
+            ByteBuffer buffer = tampered(bytes, tampering[0], tampering[1]);
+            assertThrows(IOException.class, () -> StudentsSnapshot.of(buffer),
+                    "int at %d set to %d".formatted(tampering[0], tampering[1]));
+        }
+    }
+
+    /**
+     * Copy a snapshot with an int changed, and a checksum that matches the change.
+     *
+     * @param snapshot the contents of a snapshot file
+     * @param index    index of the int to change
+     * @param value    new value of the int
+     * @return the changed copy
+     */
+    static ByteBuffer tampered(byte[] snapshot, int index, int value) {
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot.clone()).putInt(index, value);
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(48, buffer.limit() - 48));
+        return buffer.putLong(40, checksum.getValue());
+    }
+
+    /**
+     * Test that a snapshot can be divided like any roster.
+     */
+    @Test
+    public void testDivide() throws IOException {
+        Path file = directory.resolve("students.csv");
+        Files.writeString(file, TestRosters.csv(1000));
+
+        Roster students = StudentsFile.fromCSV(file, directory.resolve("students.snapshot"));
+        int total = ClassDivider.divide(students, 4, 1).stream().mapToInt(g -> g.length).sum();
+        assertEquals(1000, total);
+    }
+
+}
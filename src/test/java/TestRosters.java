@@ -0,0 +1,62 @@
+import java.util.function.IntFunction;
+
+/**
+ * Synthetic rosters in CSV format for tests.
+ *
+ * @author Huub de Beer
+ */
+final class TestRosters {
+
+    /**
+     * Header of the rosters.
+     */
+    static final String HEADER = "first name,last name,ID";
+
+    private static final int FIRST_ID = 1000;
+
+    private TestRosters() {
+    }
+
+    /**
+     * Roster of students First0 Last0 with ID 1000 up to First(size - 1)
+     * Last(size - 1) with ID 999 + size.
+     *
+     * @param size number of students
+     * @return roster with header in CSV format
+     * @pre {@code size >= 0}
+     */
+    static String csv(int size) {
+        return csv(size, FIRST_ID);
+    }
+
+    /**
+     * Roster of students like {@link #csv(int)}, with IDs from firstId on.
+     *
+     * @param size number of students
+     * @param firstId ID of the first student
+     * @return roster with header in CSV format
+     * @pre {@code size >= 0}
+     */
+    static String csv(int size, int firstId) {
+        return csv(size, firstId, i -> "First" + i);
+    }
+
+    /**
+     * Roster of students like {@link #csv(int, int)}, with the first name of
+     * the i-th student given by firstName.
+     *
+     * @param size number of students
+     * @param firstId ID of the first student
+     * @param firstName first name of the i-th student
+     * @return roster with header in CSV format
+     * @pre {@code size >= 0 && firstName != null}
+     */
+    static String csv(int size, int firstId, IntFunction<String> firstName) {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        for (int i = 0; i < size; i++) {
+            csv.append("%s,Last%d,%d\n".formatted(firstName.apply(i), i, firstId + i));
+        }
+        return csv.toString();
+    }
+
+}
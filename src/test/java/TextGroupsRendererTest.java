@@ -0,0 +1,36 @@
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests methods in class TextGroupsRenderer.
+ */
+public class TextGroupsRendererTest {
+
+    @Test
+    public void testRender() throws IOException {
+        List<List<Student>> groups = List.of(
+                List.of(new Student("Huub", "de Beer", "1"), new Student("Jan", "Jansens", "2")),
+                List.of(new Student("Jan", "van Dijk", "3")));
+        Map<String, Boolean> uniqueFirstName = Map.of("Huub", true, "Jan", false);
+
+        StringWriter out = new StringWriter();
+        new TextGroupsRenderer().render(groups, uniqueFirstName, out);
+
+        String expected = String.join(System.lineSeparator(),
+                "Group 1:", "- Huub", "- Jan J", "",
+                "Group 2:", "- Jan D", "", "");
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void testRenderNoGroups() throws IOException {
+        StringWriter out = new StringWriter();
+        new TextGroupsRenderer().render(List.of(), Map.of(), out);
+        assertEquals("", out.toString());
+    }
+}